@@ -0,0 +1,524 @@
+package com.dbout.commandhandler.processor;
+
+import com.dbout.commandhandler.CommandSyntax;
+import com.dbout.commandhandler.ParameterType;
+import com.dbout.commandhandler.exceptions.CommandHandlerException;
+import com.dbout.commandhandler.exceptions.CommandInvalidFormat;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * CommandProcessor
+ * Generates a Command class for each method annotated with @CommandDef and a registration class by enclosing class
+ * ie: Warps#warp => Warps_warp extends Command, WarpsCommands.register(handler, warps)
+ * https://github.com/dimitriBouteille/command-handler
+ *
+ * @author  Dimitri BOUTEILLE <bonjour@dimitri-bouteille.fr>
+ * @version 1.0
+ */
+@SupportedAnnotationTypes({CommandProcessor.COMMAND_DEF, CommandProcessor.PERMISSION})
+public class CommandProcessor extends AbstractProcessor {
+
+    static final String COMMAND_DEF = "com.dbout.commandhandler.annotations.CommandDef";
+
+    static final String PERMISSION = "com.dbout.commandhandler.annotations.Permission";
+
+    private static final String COMMAND = "com.dbout.commandhandler.Command";
+
+    private static final String BUKKIT_SENDER = "org.bukkit.command.CommandSender";
+
+    private static final String PLAYER = "org.bukkit.entity.Player";
+
+    /**
+     * Same values as com.dbout.commandhandler.CommandSender
+     */
+    private static final int SENDER_ALL = 1;
+
+    private static final int SENDER_PLAYER = 2;
+
+    private static final int SENDER_CONSOLE = 3;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() { return SourceVersion.latestSupported(); }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+
+        TypeElement commandDef = this.processingEnv.getElementUtils().getTypeElement(COMMAND_DEF);
+        if(commandDef == null) {
+            return false;
+        }
+
+        // Group the methods by enclosing class
+        Map<TypeElement, List<ExecutableElement>> methods = new LinkedHashMap<>();
+        for(Element element : roundEnv.getElementsAnnotatedWith(commandDef)) {
+            methods.computeIfAbsent((TypeElement)element.getEnclosingElement(), k -> new ArrayList<>())
+                    .add((ExecutableElement)element);
+        }
+
+        for(Map.Entry<TypeElement, List<ExecutableElement>> entry : methods.entrySet()) {
+
+            // Overloaded methods would generate the same class
+            Map<String, ExecutableElement> classNames = new HashMap<>();
+            List<String> generated = new ArrayList<>();
+            for(ExecutableElement method : entry.getValue()) {
+
+                String className = CommandProcessor.getClassName(entry.getKey(), method);
+                ExecutableElement previous = classNames.putIfAbsent(className, method);
+                if(previous != null) {
+                    this.error(method, String.format("The @CommandDef methods [%s] and [%s] both generate the class [%s], a @CommandDef method can't be overloaded.",
+                            previous, method, className));
+                    continue;
+                }
+
+                if(this.generateCommand(entry.getKey(), method, className)) {
+                    generated.add(className);
+                }
+            }
+
+            if(generated.size() == entry.getValue().size()) {
+                this.generateRegistration(entry.getKey(), generated);
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * @param type      Enclosing class
+     * @param method    Annotated method
+     * @return          Returns the simple name of the Command class generated for the method
+     */
+    private static String getClassName(TypeElement type, ExecutableElement method) {
+
+        return type.getSimpleName() + "_" + method.getSimpleName();
+    }
+
+    /**
+     * Generate the Command class of a method
+     *
+     * @param type      Enclosing class
+     * @param method    Annotated method
+     * @param className Simple name of the generated class
+     * @return          Returns true if the class is generated
+     */
+    private boolean generateCommand(TypeElement type, ExecutableElement method, String className) {
+
+        if(method.getModifiers().contains(Modifier.PRIVATE) || method.getModifiers().contains(Modifier.STATIC)) {
+            this.error(method, "A @CommandDef method must be an instance method and not private.");
+            return false;
+        }
+
+        Types types = this.processingEnv.getTypeUtils();
+        TypeMirror unchecked = this.processingEnv.getElementUtils().getTypeElement("java.lang.RuntimeException").asType();
+        TypeMirror error = this.processingEnv.getElementUtils().getTypeElement("java.lang.Error").asType();
+        for(TypeMirror thrown : method.getThrownTypes()) {
+            if(!types.isSubtype(thrown, unchecked) && !types.isSubtype(thrown, error)) {
+                this.error(method, "A @CommandDef method can't throw a checked exception.");
+                return false;
+            }
+        }
+
+        Map<String, Object> def = this.getValues(method, COMMAND_DEF);
+        Map<String, Object> permission = this.getValues(method, PERMISSION);
+        String command = (String)def.get("value");
+        int sender = def.containsKey("sender") ? (Integer)def.get("sender") : SENDER_ALL;
+
+        // The first method parameter can receive the sender
+        List<? extends VariableElement> parameters = method.getParameters();
+        int first = 0;
+        String senderCast = null;
+        if(!parameters.isEmpty()) {
+            String firstType = types.erasure(parameters.get(0).asType()).toString();
+            if(firstType.equals(BUKKIT_SENDER)) {
+                first = 1;
+            } else if(firstType.equals(PLAYER)) {
+                first = 1;
+                senderCast = PLAYER;
+                if(sender == SENDER_CONSOLE) {
+                    this.error(method, "A console command can't receive a Player sender.");
+                    return false;
+                }
+
+                sender = SENDER_PLAYER;
+            }
+        }
+
+        // The other method parameters receive the command parameters, in the same order
+        List<String> arguments = new ArrayList<>();
+        if(first == 1) {
+            arguments.add(senderCast == null ? "sender" : "(" + senderCast + ")sender");
+        }
+
+        // Same grammar as the runtime
+        CommandSyntax syntax;
+        try {
+            syntax = CommandSyntax.parse(command.startsWith("/") ? command.substring(1) : command);
+        } catch (CommandHandlerException e) {
+            this.error(method, e.getMessage());
+            return false;
+        }
+
+        int index = 0;
+        for(CommandSyntax.Parameter spec : syntax.getParameters()) {
+
+            if(first + index >= parameters.size()) {
+                this.error(method, String.format("The parameter [%s] of the command [%s] has no method parameter.", spec.getName(), command));
+                return false;
+            }
+
+            if(!this.checkType(method, spec, command)) {
+                return false;
+            }
+
+            // An omitted optional parameter without default value must be told apart from 0 or false
+            VariableElement parameter = parameters.get(first + index);
+            TypeMirror javaType = types.erasure(parameter.asType());
+            boolean absent = spec.isOptional() && spec.getDefaultValue() == null;
+            if(absent && javaType.getKind().isPrimitive()) {
+                this.error(parameter, String.format("The optional parameter [%s] has no default value, its method parameter must be a boxed type.", spec.getToken()));
+                return false;
+            }
+
+            String accessor = this.getAccessor(spec.getType(), javaType, index);
+            if(accessor == null) {
+                this.error(parameter, String.format("The type [%s] can't receive the parameter [%s].", parameter.asType(), spec.getToken()));
+                return false;
+            }
+
+            if(absent) {
+                accessor = "parameters.isPresent(" + index + ") ? " + accessor + " : null";
+            }
+
+            arguments.add(accessor);
+            index++;
+        }
+
+        if(first + index != parameters.size()) {
+            this.error(method, String.format("The method has more parameters than the command [%s].", command));
+            return false;
+        }
+
+        String packageName = this.processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String targetName = type.getQualifiedName().toString();
+
+        StringBuilder source = new StringBuilder();
+        if(!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+
+        source.append("/**\n")
+                .append(" * Generated by CommandProcessor from ").append(targetName).append('#').append(method.getSimpleName()).append("\n")
+                .append(" */\n")
+                .append("public final class ").append(className).append(" extends ").append(COMMAND).append(" {\n\n")
+                .append("    private final ").append(targetName).append(" target;\n\n")
+                .append("    public ").append(className).append("(").append(targetName).append(" target) {\n\n")
+                .append("        this.target = target;\n")
+                .append("        this.setCommand(").append(literal(command)).append(");\n")
+                .append("        this.setName(").append(literal(this.getString(def, "name", method.getSimpleName().toString()))).append(");\n");
+
+        this.appendSetter(source, "setDescription", this.getString(def, "description", ""));
+        this.appendSetter(source, "setUsage", this.getString(def, "usage", ""));
+        this.appendVarargs(source, "addAlias", def.get("aliases"));
+        this.appendVarargs(source, "addExamples", def.get("examples"));
+        source.append("        this.setSender(").append(sender).append(");\n");
+        if(Boolean.TRUE.equals(def.get("async"))) {
+            source.append("        this.setAsync(true);\n");
+        }
+
+        if(permission.containsKey("value")) {
+            source.append("        this.setPermission(new org.bukkit.permissions.Permission(")
+                    .append(literal((String)permission.get("value"))).append("));\n");
+        }
+
+        source.append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public void execute(").append(BUKKIT_SENDER).append(" sender, com.dbout.commandhandler.CommandParameters parameters) {\n\n")
+                .append("        this.target.").append(method.getSimpleName()).append("(").append(String.join(", ", arguments)).append(");\n")
+                .append("    }\n\n")
+                .append("}\n");
+
+        return this.write(packageName, className, source, type);
+    }
+
+    /**
+     * Generate the registration class of an enclosing class
+     *
+     * @param type          Enclosing class
+     * @param commandNames  Simple names of the generated Command classes
+     */
+    private void generateRegistration(TypeElement type, List<String> commandNames) {
+
+        String packageName = this.processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String targetName = type.getQualifiedName().toString();
+        String className = type.getSimpleName() + "Commands";
+
+        StringBuilder source = new StringBuilder();
+        if(!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+
+        source.append("/**\n")
+                .append(" * Generated by CommandProcessor from ").append(targetName).append("\n")
+                .append(" */\n")
+                .append("public final class ").append(className).append(" {\n\n")
+                .append("    private ").append(className).append("() {}\n\n")
+                .append("    public static java.util.List<").append(COMMAND).append("> create(").append(targetName).append(" target) {\n\n")
+                .append("        java.util.List<").append(COMMAND).append("> commands = new java.util.ArrayList<>();\n");
+
+        for(String commandName : commandNames) {
+            source.append("        commands.add(new ").append(commandName).append("(target));\n");
+        }
+
+        source.append("        return commands;\n")
+                .append("    }\n\n")
+                .append("    public static com.dbout.commandhandler.CommandHandler register(com.dbout.commandhandler.CommandHandler handler, ")
+                .append(targetName).append(" target) throws com.dbout.commandhandler.exceptions.CommandHandlerException {\n\n")
+                .append("        return handler.registerCommands(").append(className).append(".create(target));\n")
+                .append("    }\n\n")
+                .append("}\n");
+
+        this.write(packageName, className, source, type);
+    }
+
+    /**
+     * Check the type of a parameter and its default value like CommandReader
+     * An enum type is searched in the compiled sources, its default value is checked against the names of its constants
+     *
+     * @param method    Annotated method
+     * @param parameter Parameter read by CommandSyntax
+     * @param command   Command
+     * @return          Returns true if the type is known and the default value is valid
+     */
+    private boolean checkType(ExecutableElement method, CommandSyntax.Parameter parameter, String command) {
+
+        String type = parameter.getType();
+        ParameterType parameterType = type == null ? ParameterType.WORD : ParameterType.fromName(type);
+        if(parameterType != null) {
+            try {
+                parameter.create(parameterType);
+                return true;
+            } catch (CommandInvalidFormat e) {
+                this.error(method, e.getMessage());
+                return false;
+            }
+        }
+
+        TypeElement enumType = this.processingEnv.getElementUtils().getTypeElement(type.replace('$', '.'));
+        if(enumType == null || enumType.getKind() != ElementKind.ENUM) {
+            this.error(method, String.format("The parameter type [%s] of the command [%s] is unknown.", type, command));
+            return false;
+        }
+
+        String defaultValue = parameter.getDefaultValue();
+        if(defaultValue == null) {
+            return true;
+        }
+
+        for(Element constant : enumType.getEnclosedElements()) {
+            if(constant.getKind() == ElementKind.ENUM_CONSTANT && constant.getSimpleName().toString().equalsIgnoreCase(defaultValue)) {
+                return true;
+            }
+        }
+
+        this.error(method, String.format("The default value of the parameter [%s] of the command [%s] is invalid.", parameter.getToken(), command));
+        return false;
+    }
+
+    /**
+     * Get the CommandParameters call that reads a parameter
+     *
+     * @param parameterType Parameter type in the command, null for a word
+     * @param javaType      Type of the method parameter
+     * @param index         Parameter index
+     * @return              Returns the call or null if the types are not compatible
+     */
+    private String getAccessor(String parameterType, TypeMirror javaType, int index) {
+
+        String name = javaType.toString();
+        if(name.equals("java.lang.String")) {
+            return "parameters.getString(" + index + ")";
+        }
+
+        String type = parameterType == null ? "word" : parameterType;
+        switch (type) {
+            case "word":
+                return null;
+            case "int":
+                return name.equals("int") || name.equals("java.lang.Integer") ? "parameters.getInt(" + index + ")" : null;
+            case "long":
+                return name.equals("long") || name.equals("java.lang.Long") ? "parameters.getLong(" + index + ")" : null;
+            case "double":
+                return name.equals("double") || name.equals("java.lang.Double") ? "parameters.getDouble(" + index + ")" : null;
+            case "boolean":
+                return name.equals("boolean") || name.equals("java.lang.Boolean") ? "parameters.getBoolean(" + index + ")" : null;
+            case "uuid":
+                return name.equals("java.util.UUID") ? "parameters.getUniqueId(" + index + ")" : null;
+            case "player":
+                return name.equals(PLAYER) ? "parameters.getPlayer(" + index + ")" : null;
+            case "world":
+                return name.equals("org.bukkit.World") ? "parameters.getWorld(" + index + ")" : null;
+            default:
+
+                // Enum class name, ie: org.bukkit.GameMode
+                if(javaType.getKind() == TypeKind.DECLARED && name.equals(type.replace('$', '.'))) {
+                    return "parameters.getEnum(" + index + ", " + name + ".class)";
+                }
+
+                return null;
+        }
+    }
+
+    /**
+     * Get the values of an annotation of an element, default values are not included
+     *
+     * @param element           Element
+     * @param annotationName    Annotation class name
+     * @return                  Returns the values by name
+     */
+    private Map<String, Object> getValues(Element element, String annotationName) {
+
+        Map<String, Object> values = new LinkedHashMap<>();
+        for(AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            if(!annotation.getAnnotationType().toString().equals(annotationName)) {
+                continue;
+            }
+
+            for(Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : annotation.getElementValues().entrySet()) {
+                values.put(entry.getKey().getSimpleName().toString(), entry.getValue().getValue());
+            }
+        }
+
+        return values;
+    }
+
+    /**
+     * @param values        Annotation values
+     * @param name          Value name
+     * @param defaultValue  Value when not set or empty
+     * @return              Returns a string value
+     */
+    private String getString(Map<String, Object> values, String name, String defaultValue) {
+
+        Object value = values.get(name);
+        return value == null || value.toString().isEmpty() ? defaultValue : value.toString();
+    }
+
+    /**
+     * @param source    Source code
+     * @param setter    Setter name
+     * @param value     Value, nothing is generated if it is empty
+     */
+    private void appendSetter(StringBuilder source, String setter, String value) {
+
+        if(!value.isEmpty()) {
+            source.append("        this.").append(setter).append("(").append(literal(value)).append(");\n");
+        }
+    }
+
+    /**
+     * @param source    Source code
+     * @param method    Method name
+     * @param value     Array annotation value, nothing is generated if it is empty
+     */
+    private void appendVarargs(StringBuilder source, String method, Object value) {
+
+        if(!(value instanceof List) || ((List<?>)value).isEmpty()) {
+            return;
+        }
+
+        List<String> items = new ArrayList<>();
+        for(Object item : (List<?>)value) {
+            items.add(literal((String)((AnnotationValue)item).getValue()));
+        }
+
+        source.append("        this.").append(method).append("(").append(String.join(", ", items)).append(");\n");
+    }
+
+    /**
+     * Write a generated source file
+     *
+     * @param packageName   Package
+     * @param className     Simple class name
+     * @param source        Source code
+     * @param origin        Element from which the file is generated
+     * @return              Returns true if the file is written
+     */
+    private boolean write(String packageName, String className, StringBuilder source, Element origin) {
+
+        String name = packageName.isEmpty() ? className : packageName + "." + className;
+        try {
+            JavaFileObject file = this.processingEnv.getFiler().createSourceFile(name, origin);
+            try (Writer writer = file.openWriter()) {
+                writer.write(source.toString());
+            }
+
+            return true;
+        } catch (IOException e) {
+            this.error(origin, String.format("The class [%s] can't be generated: %s", name, e.getMessage()));
+            return false;
+        }
+    }
+
+    /**
+     * @param element   Element in error
+     * @param message   Error message
+     */
+    private void error(Element element, String message) {
+
+        this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    /**
+     * @param value String
+     * @return      Returns the Java string literal of a value
+     */
+    private static String literal(String value) {
+
+        StringBuilder builder = new StringBuilder("\"");
+        for(char c : value.toCharArray()) {
+            switch (c) {
+                case '"':
+                    builder.append("\\\"");
+                    break;
+                case '\\':
+                    builder.append("\\\\");
+                    break;
+                case '\n':
+                    builder.append("\\n");
+                    break;
+                case '\r':
+                    builder.append("\\r");
+                    break;
+                case '\t':
+                    builder.append("\\t");
+                    break;
+                default:
+                    if(c < 0x20 || c > 0x7e) {
+                        builder.append(String.format("\\u%04x", (int)c));
+                    } else {
+                        builder.append(c);
+                    }
+            }
+        }
+
+        return builder.append('"').toString();
+    }
+
+}
@@ -0,0 +1,145 @@
+package com.dbout.commandhandler.processor;
+
+import com.dbout.commandhandler.CommandReader;
+import com.dbout.commandhandler.exceptions.CommandHandlerException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * CommandProcessorTest
+ * The processor must accept the same commands as CommandReader
+ * https://github.com/dimitriBouteille/command-handler
+ *
+ * @author  Dimitri BOUTEILLE <bonjour@dimitri-bouteille.fr>
+ * @version 1.0
+ */
+public class CommandProcessorTest {
+
+    /**
+     * Commands and the method parameters that receive them if the command is valid
+     */
+    private static final String[][] DEFINITIONS = {
+            {"warp :name", "String name"},
+            {"/warp :name", "String name"},
+            {"guild create :name", "String name"},
+            {"give :item [:amount<int>=1]", "String item, int amount"},
+            {"pay :who [:amount<double>]", "String who, Double amount"},
+            {"say :message...", "String message"},
+            {"code :c<int>(\\d{2})", "int c"},
+            {"at :time(\\d{1,2}:[0-5]\\d)", "String time"},
+            {"toggle [:on<boolean>=true]", "boolean on"},
+            {"wait [:unit<java.util.concurrent.TimeUnit>=seconds]", "java.util.concurrent.TimeUnit unit"},
+            {"give [:amount<int>=abc]", "int amount"},
+            {"code [:c(\\d)=x]", "String c"},
+            {"wait [:unit<java.util.concurrent.TimeUnit>=weeks]", "java.util.concurrent.TimeUnit unit"},
+            {"wait :unit<org.unknown.Unit>", "String unit"},
+            {"gi@ve :item", "String item"},
+            {":item", "String item"},
+            {"give :item extra", "String item"},
+            {"give :amount<int>=1", "int amount"},
+            {"say :message... :target", "String message, String target"},
+            {"say :message<int>...", "int message"},
+            {"give [:amount<int>] :item", "Integer amount, String item"},
+            {"code :c((?=a)b)", "String c"},
+            {"code :c(\\d", "String c"},
+            {"give :item :item", "String item, String other"}
+    };
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void acceptsTheSameCommandsAsTheRuntime() throws IOException {
+
+        for(String[] definition : DEFINITIONS) {
+
+            boolean runtime = true;
+            try {
+                new CommandReader(definition[0]).read();
+            } catch (CommandHandlerException e) {
+                runtime = false;
+            }
+
+            String source = "public class Commands {\n"
+                    + "    @com.dbout.commandhandler.annotations.CommandDef(" + literal(definition[0]) + ")\n"
+                    + "    public void run(" + definition[1] + ") {}\n"
+                    + "}\n";
+
+            List<String> errors = this.compile(source);
+            assertEquals(definition[0] + " " + errors, runtime, errors.isEmpty());
+        }
+    }
+
+    @Test
+    public void rejectsOverloadedMethods() throws IOException {
+
+        String source = "public class Commands {\n"
+                + "    @com.dbout.commandhandler.annotations.CommandDef(\"warp :name\")\n"
+                + "    public void warp(String name) {}\n"
+                + "    @com.dbout.commandhandler.annotations.CommandDef(\"warp :name :x<int>\")\n"
+                + "    public void warp(String name, int x) {}\n"
+                + "}\n";
+
+        List<String> errors = this.compile(source);
+        assertEquals(errors.toString(), 1, errors.size());
+        assertTrue(errors.get(0), errors.get(0).contains("[Commands_warp]"));
+    }
+
+    /**
+     * Compile a class with the processor, the generated commands are compiled too
+     *
+     * @param source    Source of the class Commands
+     * @return          Returns the error messages
+     */
+    private List<String> compile(String source) throws IOException {
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        StandardJavaFileManager files = compiler.getStandardFileManager(diagnostics, null, null);
+        File output = this.folder.newFolder();
+        files.setLocation(StandardLocation.CLASS_OUTPUT, Collections.singletonList(output));
+        files.setLocation(StandardLocation.SOURCE_OUTPUT, Collections.singletonList(output));
+
+        JavaFileObject file = new SimpleJavaFileObject(URI.create("string:///Commands.java"), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) { return source; }
+        };
+
+        JavaCompiler.CompilationTask task = compiler.getTask(null, files, diagnostics,
+                Arrays.asList("-classpath", System.getProperty("java.class.path")), null, Collections.singletonList(file));
+        task.setProcessors(Collections.singletonList(new CommandProcessor()));
+        task.call();
+        files.close();
+
+        List<String> errors = new ArrayList<>();
+        for(Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            if(diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+                errors.add(diagnostic.getMessage(null));
+            }
+        }
+
+        return errors;
+    }
+
+    private static String literal(String value) { return '"' + value.replace("\\", "\\\\").replace("\"", "\\\"") + '"'; }
+
+}
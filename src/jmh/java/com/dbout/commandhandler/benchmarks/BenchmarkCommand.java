@@ -0,0 +1,41 @@
+package com.dbout.commandhandler.benchmarks;
+
+import com.dbout.commandhandler.Command;
+import com.dbout.commandhandler.CommandParameters;
+import org.bukkit.command.CommandSender;
+
+/**
+ * BenchmarkCommand
+ * Generated command, ie: cmd12 give :target :amount<int>
+ * https://github.com/dimitriBouteille/command-handler
+ *
+ * @author  Dimitri BOUTEILLE <bonjour@dimitri-bouteille.fr>
+ * @version 1.0
+ */
+public class BenchmarkCommand extends Command {
+
+    /**
+     * Last parameters received, read by the benchmarks so execute() is not eliminated
+     */
+    public static volatile CommandParameters last;
+
+    /**
+     * Constructor
+     *
+     * @param index Index of the generated command
+     */
+    public BenchmarkCommand(int index) {
+
+        this.setCommand("cmd" + index + " give :target :amount<int>");
+        this.setName("Command " + index);
+        this.setDescription("Generated command " + index);
+        this.addAlias("c" + index + " give");
+    }
+
+    @Override
+    public void execute(CommandSender sender, CommandParameters parameters) {
+
+        BenchmarkCommand.last = parameters;
+    }
+
+}
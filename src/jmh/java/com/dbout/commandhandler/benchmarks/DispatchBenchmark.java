@@ -0,0 +1,83 @@
+package com.dbout.commandhandler.benchmarks;
+
+import com.dbout.commandhandler.CommandHandler;
+import com.dbout.commandhandler.exceptions.CommandHandlerException;
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DispatchBenchmark
+ * Hit, miss, invalid type and help dispatch with 10, 100 and 1,000 registered commands
+ * https://github.com/dimitriBouteille/command-handler
+ *
+ * @author  Dimitri BOUTEILLE <bonjour@dimitri-bouteille.fr>
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DispatchBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int commands;
+
+    private CommandHandler handler;
+
+    private Player player;
+
+    private org.bukkit.command.Command hitLabel;
+
+    private org.bukkit.command.Command aliasLabel;
+
+    private org.bukkit.command.Command missLabel;
+
+    private String[] hitArgs = {"give", "Steve", "64"};
+
+    // Wrong arity, no command matches
+    private String[] missArgs = {"give", "Steve"};
+
+    // The command matches but the amount is not an int
+    private String[] badArgs = {"give", "Steve", "sixty-four"};
+
+    private String[] helpArgs = {"give", "?"};
+
+    @Setup
+    public void setup() throws CommandHandlerException {
+
+        Fakes.installServer();
+        this.handler = new CommandHandler();
+        for(int i = 0; i < this.commands; i++) {
+            this.handler.registerCommand(new BenchmarkCommand(i));
+        }
+
+        // The last registered command, the worst case of a linear scan
+        int last = this.commands - 1;
+        this.player = Fakes.player("Steve");
+        this.hitLabel = Fakes.label("cmd" + last);
+        this.aliasLabel = Fakes.label("c" + last);
+        this.missLabel = Fakes.label("unknown");
+    }
+
+    @Benchmark
+    public boolean hit() { return this.handler.runCommand(this.player, this.hitLabel, this.hitArgs); }
+
+    @Benchmark
+    public boolean hitAlias() { return this.handler.runCommand(this.player, this.aliasLabel, this.hitArgs); }
+
+    @Benchmark
+    public boolean missLabel() { return this.handler.runCommand(this.player, this.missLabel, this.hitArgs); }
+
+    @Benchmark
+    public boolean missParameters() { return this.handler.runCommand(this.player, this.hitLabel, this.missArgs); }
+
+    @Benchmark
+    public boolean invalidType() { return this.handler.runCommand(this.player, this.hitLabel, this.badArgs); }
+
+    @Benchmark
+    public boolean help() { return this.handler.runCommand(this.player, this.hitLabel, this.helpArgs); }
+
+}
@@ -0,0 +1,148 @@
+package com.dbout.commandhandler.benchmarks;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.ConsoleCommandSender;
+import org.bukkit.entity.Player;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+/**
+ * Fakes
+ * In-memory stand-ins of the Bukkit server, senders and commands
+ * https://github.com/dimitriBouteille/command-handler
+ *
+ * @author  Dimitri BOUTEILLE <bonjour@dimitri-bouteille.fr>
+ * @version 1.0
+ */
+public final class Fakes {
+
+    private Fakes() {}
+
+    /**
+     * Install a fake server in Bukkit, once per JVM
+     */
+    public static synchronized void installServer() {
+
+        if(Bukkit.getServer() != null) {
+            return;
+        }
+
+        ConsoleCommandSender console = Fakes.create(ConsoleCommandSender.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getName":
+                    return "CONSOLE";
+                case "sendMessage":
+                    return null;
+                default:
+                    return Fakes.defaultValue(method.getReturnType());
+            }
+        });
+
+        Logger logger = Logger.getLogger("FakeServer");
+        Bukkit.setServer(Fakes.create(Server.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getLogger":
+                    return logger;
+                case "getName":
+                    return "FakeServer";
+                case "getVersion":
+                case "getBukkitVersion":
+                    return "benchmark";
+                case "getConsoleSender":
+                    return console;
+                case "isPrimaryThread":
+                    return true;
+                default:
+                    return Fakes.defaultValue(method.getReturnType());
+            }
+        }));
+    }
+
+    /**
+     * Create a player that has all permissions and ignores the messages
+     *
+     * @param name  Player name
+     * @return      Returns the player
+     */
+    public static Player player(String name) {
+
+        UUID uniqueId = UUID.nameUUIDFromBytes(name.getBytes());
+        return Fakes.create(Player.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getName":
+                case "getDisplayName":
+                    return name;
+                case "getUniqueId":
+                    return uniqueId;
+                case "hasPermission":
+                case "isPermissionSet":
+                    return true;
+                case "hashCode":
+                    return uniqueId.hashCode();
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return name;
+                default:
+                    return Fakes.defaultValue(method.getReturnType());
+            }
+        });
+    }
+
+    /**
+     * Create a Bukkit command, ie: the command passed to onCommand()
+     *
+     * @param label Command label
+     * @return      Returns the command
+     */
+    public static org.bukkit.command.Command label(String label) {
+
+        return new org.bukkit.command.Command(label) {
+            @Override
+            public boolean execute(CommandSender sender, String commandLabel, String[] args) { return true; }
+        };
+    }
+
+    /**
+     * @param type      Interface
+     * @param handler   Calls handler
+     * @param <T>       Interface type
+     * @return          Returns a proxy of the interface
+     */
+    private static <T> T create(Class<T> type, InvocationHandler handler) {
+
+        return type.cast(Proxy.newProxyInstance(Fakes.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    /**
+     * @param type  Return type
+     * @return      Returns the default value of a type
+     */
+    private static Object defaultValue(Class<?> type) {
+
+        if(type == boolean.class) {
+            return false;
+        } else if(type == int.class) {
+            return 0;
+        } else if(type == long.class) {
+            return 0L;
+        } else if(type == short.class) {
+            return (short)0;
+        } else if(type == byte.class) {
+            return (byte)0;
+        } else if(type == double.class) {
+            return 0d;
+        } else if(type == float.class) {
+            return 0f;
+        } else if(type == char.class) {
+            return '\0';
+        }
+
+        return null;
+    }
+
+}
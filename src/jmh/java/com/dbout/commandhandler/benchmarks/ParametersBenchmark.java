@@ -0,0 +1,55 @@
+package com.dbout.commandhandler.benchmarks;
+
+import com.dbout.commandhandler.CommandHandler;
+import com.dbout.commandhandler.CommandParameters;
+import com.dbout.commandhandler.exceptions.CommandHandlerException;
+import org.openjdk.jmh.annotations.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ParametersBenchmark
+ * Accessors of CommandParameters, by index and by name
+ * https://github.com/dimitriBouteille/command-handler
+ *
+ * @author  Dimitri BOUTEILLE <bonjour@dimitri-bouteille.fr>
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParametersBenchmark {
+
+    private CommandParameters parameters;
+
+    @Setup
+    public void setup() throws CommandHandlerException {
+
+        Fakes.installServer();
+        CommandHandler handler = new CommandHandler();
+        handler.registerCommand(new BenchmarkCommand(0));
+        handler.runCommand(Fakes.player("Steve"), Fakes.label("cmd0"), new String[]{"give", "Steve", "64"});
+        this.parameters = BenchmarkCommand.last;
+    }
+
+    @Benchmark
+    public String getStringByName() { return this.parameters.getString("target"); }
+
+    @Benchmark
+    public String getStringByIndex() { return this.parameters.getString(0); }
+
+    @Benchmark
+    public Integer getIntByName() { return this.parameters.getInt("amount"); }
+
+    @Benchmark
+    public int getIntByIndex() { return this.parameters.getInt(1); }
+
+    @Benchmark
+    public Double getDoubleByName() { return this.parameters.getDouble("amount"); }
+
+    @Benchmark
+    public double getDoubleByIndex() { return this.parameters.getDouble(1); }
+
+}
@@ -0,0 +1,50 @@
+package com.dbout.commandhandler.benchmarks;
+
+import com.dbout.commandhandler.CommandHandler;
+import com.dbout.commandhandler.exceptions.CommandHandlerException;
+import org.openjdk.jmh.annotations.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RegistrationBenchmark
+ * Registers 10, 100 and 1,000 generated commands in a new handler, with and without lazy initialisation
+ * https://github.com/dimitriBouteille/command-handler
+ *
+ * @author  Dimitri BOUTEILLE <bonjour@dimitri-bouteille.fr>
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegistrationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int commands;
+
+    @Param({"false", "true"})
+    public boolean lazy;
+
+    @Setup
+    public void setup() { Fakes.installServer(); }
+
+    /**
+     * A command can only be initialised once, the commands are created in the measured code
+     *
+     * @return  Returns the handler
+     * @throws CommandHandlerException  Exception when initialisation of a command
+     */
+    @Benchmark
+    public CommandHandler registerCommand() throws CommandHandlerException {
+
+        CommandHandler handler = new CommandHandler().setLazyInit(this.lazy);
+        for(int i = 0; i < this.commands; i++) {
+            handler.registerCommand(new BenchmarkCommand(i));
+        }
+
+        return handler;
+    }
+
+}
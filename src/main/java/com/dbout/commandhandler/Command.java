@@ -2,14 +2,17 @@ package com.dbout.commandhandler;
 
 import com.dbout.commandhandler.exceptions.CommandHandlerException;
 import com.dbout.commandhandler.exceptions.SenderTypeNotSupported;
+import com.dbout.commandhandler.matchers.EnumMatcher;
 import org.bukkit.ChatColor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.permissions.Permission;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Command
@@ -20,6 +23,16 @@ import java.util.regex.Pattern;
  */
 public abstract class Command {
 
+    /**
+     * Maximum number of arguments matched, a longer command matches no command
+     */
+    public static final int MAX_ARGUMENTS = 128;
+
+    /**
+     * Maximum length of an argument, a longer argument matches no parameter
+     */
+    public static final int MAX_ARGUMENT_LENGTH = 256;
+
     /**
      * Command name (optional)
      * ie: Hello world
@@ -52,7 +65,7 @@ public abstract class Command {
     /**
      * Aliases (optional)
      */
-    private List<String> aliases = new ArrayList<>();
+    private List<String> aliases = new CopyOnWriteArrayList<>();
 
     /**
      * Who can execute the command (optional)
@@ -66,51 +79,168 @@ public abstract class Command {
     private Permission permission;
 
     /**
-     * Contains the parameters that match the command after the match() function is called
+     * If true, execute() is called on the async executor of the handler
+     * The sender type and the permission are still checked on the main thread
+     */
+    private boolean async = false;
+
+    /**
+     * Maximum number of asynchronous executions running at the same time, 0 for no limit
+     */
+    private int maxConcurrentExecutions = 1;
+
+    /**
+     * Number of asynchronous executions running
+     */
+    private final AtomicInteger runningExecutions = new AtomicInteger();
+
+    /**
+     * Limits the executions by player, null for no limit
+     */
+    private RateLimiter rateLimiter;
+
+    /**
+     * Counters and durations recorded by the handler
+     */
+    private final CommandMetrics metrics = new CommandMetrics();
+
+    /**
+     * Command whose base prefixes this command, null for a root command
+     */
+    private Command parent;
+
+    /**
+     * Subcommands, registered with this command
+     * ie: guild => [create :name, invite :player]
+     */
+    private final List<Command> subCommands = new CopyOnWriteArrayList<>();
+
+    /**
+     * Interceptors of the handler that apply to this command, resolved at registration
+     */
+    private volatile CommandInterceptor[] interceptors = new CommandInterceptor[0];
+
+    /**
+     * Handler in which the command is registered
+     */
+    private volatile CommandHandler handler;
+
+    /**
+     * Literal tokens of the command base and of each alias, built by init()
+     * ie: [[myCommand, sub], [alias1]]
+     */
+    private volatile String[][] baseTokens;
+
+    /**
+     * Command base and aliases in the same order as baseTokens
+     */
+    private volatile String[] baseNames;
+
+    /**
+     * Command parameters, read once by init()
      */
-    private CommandParameters matches;
+    private CommandParameter[] parameters = new CommandParameter[0];
+
+    /**
+     * Number of parameters that can't be omitted, a greedy parameter needs at least one token
+     */
+    private int requiredParameters = 0;
+
+    /**
+     * True if the last parameter takes the rest of the command
+     */
+    private boolean greedy = false;
+
+    /**
+     * True when the parameters are read, written after parameters
+     */
+    private volatile boolean initialized = false;
+
+    /**
+     * Help message rendered once, null when the metadata changes
+     */
+    private volatile String helpMessage;
+
+    /**
+     * Line of the command in the help index, null when the metadata changes
+     */
+    private volatile String helpLine;
 
     /**
      * Set the command to be executed
      *
      * @param command   Command
      */
-    protected final void setCommand(String command) { this.commandReader = new CommandReader(command); }
+    protected final void setCommand(String command) {
+
+        this.commandReader = new CommandReader(command);
+        this.invalidateHelp();
+    }
 
     /**
      * Set the command name
      *
      * @param name  Command name
      */
-    protected final void setName(String name) { this.commandName = name; }
+    protected final void setName(String name) {
+
+        this.commandName = name;
+        this.invalidateHelp();
+    }
 
     /**
      * Set the command description
      *
      * @param description   Command description
      */
-    protected final void setDescription(String description) { this.commandDescription = description; }
+    protected final void setDescription(String description) {
+
+        this.commandDescription = description;
+        this.invalidateHelp();
+    }
 
     /**
      * Set aliases
+     * The aliases must be added before the command is registered, the handler indexes them at registration
      *
      * @param alias aliases
      */
-    protected final void addAlias(String... alias) { this.aliases.addAll(Arrays.asList(alias)); }
+    protected final void addAlias(String... alias) {
+
+        if(this.handler != null) {
+            throw new IllegalStateException(String.format("The command [%s] is already registered.", this));
+        }
+
+        this.aliases.addAll(Arrays.asList(alias));
+        this.invalidateHelp();
+
+        // The command is already initialized, the matcher must know the new aliases
+        if(this.baseTokens != null) {
+            this.compile();
+        }
+    }
 
     /**
      * Set examples
      *
      * @param examples  Examples
      */
-    protected final void addExamples(String... examples) { this.examples.addAll(Arrays.asList(examples)); }
+    protected final void addExamples(String... examples) {
+
+        this.examples.addAll(Arrays.asList(examples));
+        this.invalidateHelp();
+    }
 
     /**
      * Set how the command should be executed
      *
      * @param usage Command usage
      */
-    protected final void setUsage(String usage) { this.commandUsage = usage; }
+    protected final void setUsage(String usage) {
+
+        this.commandUsage = usage;
+        this.invalidateHelp();
+    }
 
     /**
      * Set that can execute the command
@@ -127,9 +257,181 @@ public abstract class Command {
     protected final void setPermission(Permission permission) { this.permission = permission; }
 
     /**
-     * @return  Returns command
+     * Set if the command is executed outside the main thread
+     *
+     * @param async If true, execute() is called on the async executor of the handler
+     */
+    protected final void setAsync(boolean async) { this.async = async; }
+
+    /**
+     * Add subcommands, their command is relative to this command
+     * ie: guild + create :name => /guild create :name, and /g create :name if guild has the alias g
+     * A subcommand without permission inherits the permission of this command
+     * The subcommands must be added before this command is registered, they are registered with it
+     *
+     * @param commands  Subcommands
+     */
+    protected final void addSubCommand(Command... commands) {
+
+        if(this.handler != null) {
+            throw new IllegalStateException(String.format("The command [%s] is already registered.", this));
+        }
+
+        for(Command command : commands) {
+            if(command.parent != null) {
+                throw new IllegalArgumentException(String.format("The command [%s] is already a subcommand.", command));
+            }
+
+            command.parent = this;
+            this.subCommands.add(command);
+        }
+
+        this.invalidateHelp();
+    }
+
+    /**
+     * Set the maximum number of asynchronous executions running at the same time
+     *
+     * @param max   Maximum number of executions, 0 for no limit
+     */
+    protected final void setMaxConcurrentExecutions(int max) { this.maxConcurrentExecutions = max; }
+
+    /**
+     * Set the time a player must wait between two executions
+     *
+     * @param duration  Duration
+     * @param unit      Duration unit
+     */
+    protected final void setCooldown(long duration, TimeUnit unit) { this.rateLimiter = new RateLimiter(1, duration, unit); }
+
+    /**
+     * Set the number of executions allowed by player during a period
+     * ie: setRateLimit(3, 10, TimeUnit.SECONDS)
+     *
+     * @param permits   Number of executions by period
+     * @param period    Period
+     * @param unit      Period unit
+     */
+    protected final void setRateLimit(int permits, long period, TimeUnit unit) { this.rateLimiter = new RateLimiter(permits, period, unit); }
+
+    /**
+     * Schedule a task on the main thread, ie: after an asynchronous execution
+     * The task is run immediately if the current thread is the main thread
+     *
+     * @param task  Task
+     * @return      Returns a future completed when the task has run
+     */
+    protected final CompletableFuture<Void> runSync(Runnable task) {
+
+        CommandHandler commandHandler = this.handler;
+        if(commandHandler == null) {
+            throw new IllegalStateException(String.format("The command [%s] is not registered.", this));
+        }
+
+        return commandHandler.runSync(task);
+    }
+
+    /**
+     * @return  Returns command, prefixed by the base of the parent for a subcommand
+     */
+    public String getCommand() {
+
+        if(this.parent != null) {
+            return this.parent.getCommandBase() + " " + this.commandReader.getCommand();
+        }
+
+        return this.commandReader.getCommand();
+    }
+
+    /**
+     * @return  Returns the command whose base prefixes this command or null
+     */
+    public Command getParent() { return this.parent; }
+
+    /**
+     * @return  Returns the subcommands
+     */
+    public List<Command> getSubCommands() { return this.subCommands; }
+
+    /**
+     * @return  Returns how the command should be executed, the command itself by default
+     */
+    public String getUsage() {
+
+        if(this.commandUsage != null && !this.commandUsage.isEmpty()) {
+            return this.commandUsage;
+        }
+
+        return "/" + this.getCommand();
+    }
+
+    /**
+     * @return  Returns the limit of executions by player or null
+     */
+    public RateLimiter getRateLimiter() { return this.rateLimiter; }
+
+    /**
+     * @return  Returns the counters and durations recorded by the handler
+     */
+    public CommandMetrics getMetrics() { return this.metrics; }
+
+    /**
+     * @return  Returns true if the command is executed outside the main thread
+     */
+    public boolean isAsync() { return this.async; }
+
+    /**
+     * @return  Returns the maximum number of asynchronous executions, 0 for no limit
+     */
+    public int getMaxConcurrentExecutions() { return this.maxConcurrentExecutions; }
+
+    /**
+     * @return  Returns the number of asynchronous executions running
+     */
+    public int getRunningExecutions() { return this.runningExecutions.get(); }
+
+    /**
+     * Reserve an asynchronous execution
+     *
+     * @return  Returns false if the maximum number of executions is reached
+     */
+    boolean acquireExecution() {
+
+        while (true) {
+            int running = this.runningExecutions.get();
+            if(this.maxConcurrentExecutions > 0 && running >= this.maxConcurrentExecutions) {
+                return false;
+            }
+
+            if(this.runningExecutions.compareAndSet(running, running + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Release an asynchronous execution reserved by acquireExecution()
+     */
+    void releaseExecution() { this.runningExecutions.decrementAndGet(); }
+
+    /**
+     * /!\ The array is shared and must not be modified
+     *
+     * @return  Returns the interceptors that apply to this command
+     */
+    CommandInterceptor[] getInterceptors() { return this.interceptors; }
+
+    /**
+     * @param interceptors  Interceptors that apply to this command
+     */
+    void setInterceptors(CommandInterceptor[] interceptors) { this.interceptors = interceptors; }
+
+    /**
+     * Set the handler in which the command is registered
+     *
+     * @param handler   Handler
      */
-    public String getCommand() { return this.commandReader.getCommand(); }
+    void setHandler(CommandHandler handler) { this.handler = handler; }
 
     /**
      * @return  Returns sender type
@@ -137,14 +439,52 @@ public abstract class Command {
     public int getCommandSenderType() { return this.commandSenderType; }
 
     /**
-     * @return  Returns permission
+     * @return  Returns permission, the permission of the parent if the subcommand has none
      */
-    public Permission getPermission() { return this.permission; }
+    public Permission getPermission() {
+
+        if(this.permission == null && this.parent != null) {
+            return this.parent.getPermission();
+        }
+
+        return this.permission;
+    }
 
     /**
-     * @return  Returns the list of parameters that match after the match() function is called
+     * @return  Returns fixed part of the command, prefixed by the base of the parent for a subcommand
      */
-    public CommandParameters getMatchesParameters() { return this.matches; }
+    public String getCommandBase() {
+
+        if(this.parent != null) {
+            return this.parent.getCommandBase() + " " + this.commandReader.getCommandBase();
+        }
+
+        return this.commandReader.getCommandBase();
+    }
+
+    /**
+     * Returns the parameters, they are read on first call if the command was registered lazily
+     * /!\ The array is shared and must not be modified
+     *
+     * @return  Returns the parameters read by init()
+     */
+    CommandParameter[] getParameterDefinitions() {
+
+        if(!this.initialized) {
+            try {
+                this.initParameters();
+            } catch (CommandHandlerException e) {
+                throw new IllegalStateException(String.format("The command [%s] can't be initialized.", this), e);
+            }
+        }
+
+        return this.parameters;
+    }
+
+    /**
+     * @return  Returns true if the parameters are read
+     */
+    public boolean isInitialized() { return this.initialized; }
 
     /**
      * @return  Returns aliases
@@ -153,34 +493,151 @@ public abstract class Command {
 
     /**
      * Checks whether an executed command matches this command and extracts the parameters of the command
+     * The command keeps no state, it can be matched from several threads at the same time
      *
      * @param commandPassed Command to be checked
-     * @return              Returns true if the command matches with commandPassed or false
+     * @return              Returns the match or null if the command does not match with commandPassed
+     */
+    public CommandMatch match(String commandPassed) {
+
+        String[] tokens = commandPassed.split(" ", -1);
+        return this.match(tokens[0], Arrays.copyOfRange(tokens, 1, tokens.length));
+    }
+
+    /**
+     * Checks whether an executed command matches this command and extracts the parameters of the command
+     *
+     * @param label Command label
+     * @param args  Command arguments
+     * @return      Returns the match or null if the command does not match
+     */
+    public CommandMatch match(String label, String[] args) {
+
+        int base = this.findBase(label, args);
+        if(base < 0) {
+            return null;
+        }
+
+        return this.match(this.baseNames[base], args, this.baseTokens[base].length - 1);
+    }
+
+    /**
+     * Checks the parameters of an executed command whose literal part is already known
+     * ie: /myCommand sub param1 param2 with offset=1 checks [param1, param2]
+     * A value rejected by the type or the pattern of its parameter gives an invalid match with the error
+     *
+     * @param base      Command base or alias used
+     * @param args      Command arguments
+     * @param offset    Index of the first parameter in args
+     * @return          Returns the match or null if the number of parameters does not match
      */
-    public boolean match(String commandPassed) {
+    public CommandMatch match(String base, String[] args, int offset) {
+
+        // One pass on the arguments, each token is checked once by a matcher without backtracking
+        CommandParameter[] parameters = this.getParameterDefinitions();
+        int count = args.length - offset;
+        if(count < this.requiredParameters || count > MAX_ARGUMENTS || (count > parameters.length && !this.greedy)) {
+            return null;
+        }
+
+        for(int i = offset; i < args.length; i++) {
+            if(args[i].length() > MAX_ARGUMENT_LENGTH) {
+                return null;
+            }
+        }
 
-        // Create regex validation
-        // myCommand :param1 :param2 => ^(myCommand|alias1|alias1) ([regex1]) ([regex2])$
-        List<String> regex = new ArrayList<>();
-        regex.add("(" + String.join("|", this.getAllBases()) + ")");
-        for (CommandParameter parameter : this.commandReader.getParameters()) {
-            regex.add("(" + parameter.getRegex() + ")");
+        // The tokens after a greedy parameter are part of its value, they are not checked
+        int checked = Math.min(count, parameters.length);
+        for(int i = 0; i < checked; i++) {
+            if(!parameters[i].matches(args[offset + i])) {
+                return new CommandMatch(this, base, null, this.getTypeError(parameters[i], args[offset + i]));
+            }
         }
 
-        Pattern commandRegex = Pattern.compile("^" + String.join(" ", regex) + "$");
-        Matcher matcher = commandRegex.matcher(commandPassed);
+        // Parse parameters once, a value that does not exist is rejected here
+        // An omitted parameter takes its default value, or has no value
+        CommandHandler commandHandler = this.handler;
+        CommandParameters matches = new CommandParameters(parameters, commandHandler == null ? null : commandHandler.getNameResolver());
+        for(int i = 0; i < parameters.length; i++) {
+
+            String token;
+            if(i >= count) {
+                token = parameters[i].getDefaultValue();
+            } else if(parameters[i].isGreedy()) {
+                token = String.join(" ", Arrays.asList(args).subList(offset + i, args.length));
+            } else {
+                token = args[offset + i];
+            }
 
-        if(!matcher.find()) {
-            return false;
+            if(token != null && !matches.parse(i, token)) {
+                return new CommandMatch(this, base, null, this.getParseError(parameters[i], token));
+            }
         }
 
-        // Find parameters
-        this.matches = new CommandParameters();
-        for(CommandParameter parameter : this.commandReader.getParameters()) {
-            this.matches.put(parameter.getName(), matcher.group(parameter.getPosition()));
+        return new CommandMatch(this, base, matches);
+    }
+
+    /**
+     * Build the message of a value rejected by the type or the pattern of its parameter
+     * ie: [abc] is invalid, amount must be an int.
+     *
+     * @param parameter Parameter
+     * @param token     Token of the executed command
+     * @return          Returns the error message
+     */
+    private String getTypeError(CommandParameter parameter, String token) {
+
+        String expected;
+        if(!parameter.getMatcher().matches(token)) {
+            switch (parameter.getType()) {
+                case INT:
+                    expected = "an int";
+                    break;
+                case LONG:
+                    expected = "a long";
+                    break;
+                case DOUBLE:
+                    expected = "a number";
+                    break;
+                case BOOLEAN:
+                    expected = "true or false";
+                    break;
+                case UUID:
+                    expected = "a UUID";
+                    break;
+                case ENUM:
+                    expected = "one of " + String.join(", ", ((EnumMatcher)parameter.getMatcher()).getNames());
+                    break;
+                case PLAYER:
+                    expected = "a player name";
+                    break;
+                default:
+                    expected = "a word";
+            }
+        } else {
+            expected = "like " + parameter.getPattern();
         }
 
-        return true;
+        return String.format("[%s] is invalid, %s must be %s.", token, parameter.getName(), expected);
+    }
+
+    /**
+     * Build the message of a value that does not exist
+     *
+     * @param parameter Parameter
+     * @param token     Token of the executed command
+     * @return          Returns the error message
+     */
+    private String getParseError(CommandParameter parameter, String token) {
+
+        switch (parameter.getType()) {
+            case PLAYER:
+                return String.format("The player [%s] is not online.", token);
+            case WORLD:
+                return String.format("The world [%s] does not exist.", token);
+            default:
+                return String.format("The value [%s] is invalid for [%s].", token, parameter.getName());
+        }
     }
 
     /**
@@ -192,25 +649,119 @@ public abstract class Command {
      */
     public boolean matchHelp(String commandPassed) {
 
-        // Check if command is 'myCommand ?'
-        // Regex match : (myCommand|alias1|alias2) ?
-        return Pattern.compile(String.format("^(%s) \\?$", String.join("|", this.getAllBases())))
-                .matcher(commandPassed)
-                .find();
+        String[] tokens = commandPassed.split(" ", -1);
+        return this.matchHelp(tokens[0], Arrays.copyOfRange(tokens, 1, tokens.length));
     }
 
     /**
-     * @return  Returns aliases and command fixed part
+     * Check if it’s a help command
+     *
+     * @param label Command label
+     * @param args  Command arguments
+     * @return      Returns true if the command is a help command or false
+     */
+    public boolean matchHelp(String label, String[] args) {
+
+        int base = this.findBase(label, args);
+        return base >= 0 && this.matchHelp(args, this.baseTokens[base].length - 1);
+    }
+
+    /**
+     * Check if it’s a help command whose literal part is already known
+     *
+     * @param args      Command arguments
+     * @param offset    Index of the first token after the literal part in args
+     * @return          Returns true if the only token after the literal part is ?
+     */
+    public boolean matchHelp(String[] args, int offset) {
+
+        return args.length == offset + 1 && "?".equals(args[offset]);
+    }
+
+    /**
+     * Search the base or alias used by an executed command
+     *
+     * @param label Command label
+     * @param args  Command arguments
+     * @return      Returns the index of the base in getAllBases() or -1
      */
-    private List<String> getAllBases() {
+    private int findBase(String label, String[] args) {
+
+        String[][] bases = this.baseTokens;
+        if(bases == null) {
+            return -1;
+        }
+
+        for(int i = 0; i < bases.length; i++) {
+
+            String[] tokens = bases[i];
+            if(tokens.length - 1 > args.length || !tokens[0].equals(label)) {
+                continue;
+            }
+
+            int j = 1;
+            while (j < tokens.length && tokens[j].equals(args[j - 1])) {
+                j++;
+            }
+
+            if(j == tokens.length) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Compiles the literal tokens used by match() and matchHelp()
+     * Must be called again when the aliases change after init()
+     */
+    private void compile() {
+
+        String[] bases = this.getAllBases().toArray(new String[0]);
+        String[][] tokens = new String[bases.length][];
+        for(int i = 0; i < tokens.length; i++) {
+            tokens[i] = bases[i].trim().split("\\s+");
+        }
+
+        this.baseNames = bases;
+        this.baseTokens = tokens;
+    }
+
+    /**
+     * A subcommand is reachable from each base and alias of its parent
+     * ie: parent guild|g, subcommand create|new => guild create, guild new, g create, g new
+     *
+     * @return  Returns command fixed part first, then aliases
+     */
+    public List<String> getAllBases() {
 
         List<String> allBaseCmd = new ArrayList<>();
         allBaseCmd.add(this.commandReader.getCommandBase());
         allBaseCmd.addAll(this.aliases);
+        if(this.parent == null) {
+            return allBaseCmd;
+        }
+
+        List<String> prefixed = new ArrayList<>();
+        for(String parentBase : this.parent.getAllBases()) {
+            for(String base : allBaseCmd) {
+                prefixed.add(parentBase + " " + base);
+            }
+        }
 
-        return allBaseCmd;
+        return prefixed;
     }
 
+    /**
+     * The combinations of the aliases of the parents with the fixed part are shared by the overloads, like the fixed part
+     * ie: parent guild|g, subcommands kick :p and kick :p :r... => g kick is not an alias
+     *
+     * @param index Index in getAllBases()
+     * @return      Returns true if the base ends with an alias of this command
+     */
+    boolean isAliasBase(int index) { return index % (1 + this.aliases.size()) != 0; }
+
     /**
      * Init command
      *
@@ -218,43 +769,134 @@ public abstract class Command {
      */
     public final void init() throws CommandHandlerException {
 
+        this.prepare();
+        this.initParameters();
+    }
+
+    /**
+     * Reads only what the index needs: the fixed part of the command and the aliases
+     * The parameters are read by init() or on first match
+     *
+     * @throws CommandHandlerException  Exception if the command is empty or if the sender type is invalid
+     */
+    final void prepare() throws CommandHandlerException {
+
         if(this.commandReader == null) {
             throw new CommandHandlerException(String.format("The command [%s] is empty.", this));
         }
 
-        this.commandReader.read();
-
         if(!com.dbout.commandhandler.CommandSender.isValidSender(this.commandSenderType)) {
             throw new SenderTypeNotSupported(this.commandSenderType, this);
         }
+
+        this.commandReader.readBase();
+        this.compile();
+        this.getHelpMessage();
     }
 
     /**
-     * Displays a help message in the chat if the command is not correct
+     * Reads and validates the parameters, only once
      *
-     * @param sender    Sender
+     * @throws CommandHandlerException  Exception if the command format is invalid
      */
-    public void showHelp(CommandSender sender) {
+    final synchronized void initParameters() throws CommandHandlerException {
 
-        sender.sendMessage(ChatColor.YELLOW + "-- "+ this.commandName + " --");
-        if(this.commandDescription != null && !this.commandDescription.isEmpty()) {
-            sender.sendMessage(ChatColor.AQUA + this.commandDescription);
+        if(this.initialized) {
+            return;
         }
 
-        if(this.commandUsage != null && !this.commandUsage.isEmpty()) {
-            sender.sendMessage(ChatColor.GREEN + "Usage: "+ ChatColor.WHITE + this.commandUsage);
+        this.commandReader.read(this.getClass().getClassLoader());
+        CommandParameter[] parameters = this.commandReader.getParameters().toArray(new CommandParameter[0]);
+        int required = 0;
+        while (required < parameters.length && !parameters[required].isOptional()) {
+            required++;
         }
 
-        if(this.aliases.size() > 0) {
-            sender.sendMessage(ChatColor.GREEN + "Aliases: " + ChatColor.RED + String.join(", ", this.aliases));
+        this.parameters = parameters;
+        this.requiredParameters = required;
+        this.greedy = parameters.length > 0 && parameters[parameters.length - 1].isGreedy();
+        this.initialized = true;
+    }
+
+    /**
+     * Displays a help message in the chat if the command is not correct
+     * The message is sent at once, each line is separated by \n
+     *
+     * @param sender    Sender
+     */
+    public void showHelp(CommandSender sender) { sender.sendMessage(this.getHelpMessage()); }
+
+    /**
+     * @return  Returns the help message, rendered on first call and after a metadata change
+     */
+    public String getHelpMessage() {
+
+        String message = this.helpMessage;
+        if(message == null) {
+
+            StringBuilder builder = new StringBuilder();
+            builder.append(ChatColor.YELLOW).append("-- ").append(this.commandName).append(" --");
+            if(this.commandDescription != null && !this.commandDescription.isEmpty()) {
+                builder.append('\n').append(ChatColor.AQUA).append(this.commandDescription);
+            }
+
+            if(this.commandUsage != null && !this.commandUsage.isEmpty()) {
+                builder.append('\n').append(ChatColor.GREEN).append("Usage: ").append(ChatColor.WHITE).append(this.commandUsage);
+            }
+
+            if(this.aliases.size() > 0) {
+                builder.append('\n').append(ChatColor.GREEN).append("Aliases: ").append(ChatColor.RED).append(String.join(", ", this.aliases));
+            }
+
+            if(this.examples.size() > 0) {
+                builder.append('\n').append(ChatColor.GREEN).append("Examples:");
+                for(String example : this.examples) {
+                    builder.append('\n').append(example);
+                }
+            }
+
+            // Only the subtree of this command
+            if(this.subCommands.size() > 0) {
+                builder.append('\n').append(ChatColor.GREEN).append("Subcommands:");
+                for(Command command : this.subCommands) {
+                    builder.append('\n').append(command.getHelpLine());
+                }
+            }
+
+            message = builder.toString();
+            this.helpMessage = message;
         }
 
-        if(this.examples.size() > 0) {
-            sender.sendMessage(ChatColor.GREEN + "Examples:");
-            for(String example : this.examples) {
-                sender.sendMessage(example);
+        return message;
+    }
+
+    /**
+     * @return  Returns the line of the command in the help index
+     *          ie: /myCommand :param1 - My best command
+     */
+    public String getHelpLine() {
+
+        String line = this.helpLine;
+        if(line == null) {
+
+            line = ChatColor.GREEN + this.getUsage();
+            if(this.commandDescription != null && !this.commandDescription.isEmpty()) {
+                line += ChatColor.WHITE + " - " + this.commandDescription;
             }
+
+            this.helpLine = line;
         }
+
+        return line;
+    }
+
+    /**
+     * Remove the rendered help, it is rendered again on next request
+     */
+    private void invalidateHelp() {
+
+        this.helpMessage = null;
+        this.helpLine = null;
     }
 
     /**
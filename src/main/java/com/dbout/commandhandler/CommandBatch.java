@@ -0,0 +1,492 @@
+package com.dbout.commandhandler;
+
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CommandBatch
+ * Commands of a file, one by line, run in chunks on the main thread, ie: a maintenance script of the console
+ * A thread of the executor reads and splits the lines, at most QUEUE_SIZE lines wait for the main thread
+ * Each tick, the waiting lines are dispatched until the tick budget is spent
+ * https://github.com/dimitriBouteille/command-handler
+ *
+ * @author  Dimitri BOUTEILLE <bonjour@dimitri-bouteille.fr>
+ * @version 1.0
+ */
+public class CommandBatch {
+
+    /**
+     * Default time spent on the main thread by tick, in milliseconds
+     * A tick lasts 50ms
+     */
+    public static final long DEFAULT_TICK_BUDGET = 10;
+
+    /**
+     * Maximum number of lines read and waiting for the main thread
+     */
+    public static final int QUEUE_SIZE = 1024;
+
+    /**
+     * Size of the read buffer, in bytes
+     */
+    public static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Maximum length of a line, a longer line is a failure
+     */
+    public static final int MAX_LINE_LENGTH = 32 * 1024;
+
+    /**
+     * Maximum number of failures kept, the next ones are only counted
+     */
+    public static final int MAX_FAILURES = 100;
+
+    /**
+     * Number of ticks between two progress messages
+     */
+    public static final int PROGRESS_INTERVAL = 100;
+
+    /**
+     * Last line of the queue, the file is read
+     */
+    private static final Line END = new Line(0, null, null, null);
+
+    /**
+     * Handler of the commands
+     */
+    private final CommandHandler handler;
+
+    /**
+     * Command file
+     */
+    private final Path file;
+
+    /**
+     * Sender of the commands, informed of the progress
+     */
+    private final CommandSender sender;
+
+    /**
+     * Time spent on the main thread by tick, in nanoseconds
+     */
+    private final long tickBudget;
+
+    /**
+     * Lines read and not yet dispatched
+     */
+    private final BlockingQueue<Line> queue = new ArrayBlockingQueue<>(QUEUE_SIZE);
+
+    /**
+     * Completed on the main thread when all lines are dispatched or the batch is cancelled
+     */
+    private final CompletableFuture<CommandBatch> future = new CompletableFuture<>();
+
+    /**
+     * First failures, ie: line 12: Unknown command
+     */
+    private final List<String> failures = new ArrayList<>();
+
+    /**
+     * Task run each tick
+     */
+    private volatile BukkitTask task;
+
+    /**
+     * If true, the reading stops and the waiting lines are dropped
+     */
+    private volatile boolean cancelled = false;
+
+    /**
+     * Exception that stopped the reading
+     */
+    private volatile Throwable error;
+
+    /**
+     * Size of the file and number of bytes read
+     */
+    private volatile long size = 0;
+    private volatile long position = 0;
+
+    /**
+     * Number of lines read, written by the reading thread
+     */
+    private volatile int lines = 0;
+
+    /**
+     * Number of commands dispatched and failed, written by the main thread
+     */
+    private volatile int dispatched = 0;
+    private volatile int failed = 0;
+
+    /**
+     * Number of ticks since the start
+     */
+    private int ticks = 0;
+
+    /**
+     * Constructor
+     *
+     * @param handler       Handler of the commands
+     * @param file          Command file
+     * @param sender        Sender of the commands
+     * @param tickBudget    Time spent on the main thread by tick, in milliseconds
+     */
+    CommandBatch(CommandHandler handler, Path file, CommandSender sender, long tickBudget) {
+
+        this.handler = handler;
+        this.file = file;
+        this.sender = sender;
+        this.tickBudget = TimeUnit.MILLISECONDS.toNanos(Math.max(1, tickBudget));
+    }
+
+    /**
+     * Start the reading and the dispatch
+     *
+     * @param plugin    Plugin of the handler
+     * @param executor  Executor of the reading
+     */
+    void start(Plugin plugin, Executor executor) {
+
+        try {
+            executor.execute(this::read);
+        } catch (RejectedExecutionException e) {
+            this.future.completeExceptionally(e);
+            return;
+        }
+
+        this.task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1, 1);
+    }
+
+    /**
+     * Stop the batch, the lines already dispatched are not cancelled
+     */
+    public void cancel() { this.cancelled = true; }
+
+    /**
+     * @return  Returns true if the batch was cancelled
+     */
+    public boolean isCancelled() { return this.cancelled; }
+
+    /**
+     * @return  Returns true if all lines are dispatched or the batch is cancelled
+     */
+    public boolean isDone() { return this.future.isDone(); }
+
+    /**
+     * @return  Returns a future completed with this batch on the main thread, or with the exception that stopped the reading
+     */
+    public CompletableFuture<CommandBatch> getFuture() { return this.future; }
+
+    /**
+     * @return  Returns the part of the file read, between 0 and 1
+     */
+    public double getProgress() {
+
+        long total = this.size;
+        return total == 0 ? (this.future.isDone() ? 1 : 0) : Math.min(1, (double)this.position / total);
+    }
+
+    /**
+     * @return  Returns the number of lines read
+     */
+    public int getLines() { return this.lines; }
+
+    /**
+     * @return  Returns the number of commands that match a command
+     */
+    public int getDispatched() { return this.dispatched; }
+
+    /**
+     * @return  Returns the number of commands that failed
+     */
+    public int getFailed() { return this.failed; }
+
+    /**
+     * @return  Returns the first MAX_FAILURES failures, ie: line 12: Unknown command
+     */
+    public List<String> getFailures() {
+
+        synchronized (this.failures) {
+            return new ArrayList<>(this.failures);
+        }
+    }
+
+    /**
+     * Read the file and queue its lines, run on a thread of the executor
+     * The thread waits while the queue is full
+     */
+    private void read() {
+
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+        // A UTF-8 byte is decoded to at most one char, chars can not overflow
+        ByteBuffer bytes = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+        StringBuilder line = new StringBuilder();
+
+        try (FileChannel channel = FileChannel.open(this.file, StandardOpenOption.READ)) {
+
+            this.size = channel.size();
+            boolean end = false;
+            while (!end && !this.cancelled) {
+
+                end = channel.read(bytes) < 0;
+                bytes.flip();
+                decoder.decode(bytes, chars, end);
+                if(end) {
+                    decoder.flush(chars);
+                }
+
+                bytes.compact();
+                this.position = channel.position();
+
+                chars.flip();
+                while (chars.hasRemaining() && !this.cancelled) {
+                    char c = chars.get();
+                    if(c == '\n') {
+                        this.queue(line);
+                        line.setLength(0);
+                    } else if(line.length() <= MAX_LINE_LENGTH) {
+                        line.append(c);
+                    }
+                }
+
+                chars.clear();
+            }
+
+            if(line.length() > 0 && !this.cancelled) {
+                this.queue(line);
+            }
+        } catch (IOException e) {
+            this.error = e;
+        } catch (InterruptedException e) {
+            this.error = e;
+            Thread.currentThread().interrupt();
+        } finally {
+            try {
+                this.put(END);
+            } catch (InterruptedException e) {
+                this.cancelled = true;
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Split a line into tokens and queue it
+     * Empty lines and comments are skipped, ie: # Reset the worlds
+     *
+     * @param text  Line without line break, truncated after MAX_LINE_LENGTH
+     * @throws InterruptedException Exception if the thread is interrupted while the queue is full
+     */
+    private void queue(CharSequence text) throws InterruptedException {
+
+        int number = ++this.lines;
+        if(text.length() > MAX_LINE_LENGTH) {
+            this.put(new Line(number, null, null, "Line longer than " + MAX_LINE_LENGTH + " characters."));
+            return;
+        }
+
+        List<String> tokens = new ArrayList<>();
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+
+            while (i < length && Character.isWhitespace(text.charAt(i))) {
+                i++;
+            }
+
+            int start = i;
+            while (i < length && !Character.isWhitespace(text.charAt(i))) {
+                i++;
+            }
+
+            if(i > start) {
+                tokens.add(text.subSequence(start, i).toString());
+            }
+        }
+
+        if(tokens.isEmpty() || tokens.get(0).charAt(0) == '#') {
+            return;
+        }
+
+        // Console commands are written without slash, scripts often with
+        String label = tokens.get(0);
+        if(label.charAt(0) == '/') {
+            label = label.substring(1);
+        }
+
+        String[] args = tokens.subList(1, tokens.size()).toArray(new String[0]);
+        this.put(new Line(number, label, args, null));
+    }
+
+    /**
+     * Queue a line, wait while the queue is full and the batch is not cancelled
+     *
+     * @param line  Line
+     * @throws InterruptedException Exception if the thread is interrupted
+     */
+    private void put(Line line) throws InterruptedException {
+
+        while (!this.cancelled && !this.queue.offer(line, 100, TimeUnit.MILLISECONDS)) {
+            // The main thread is behind
+        }
+    }
+
+    /**
+     * Dispatch the waiting lines until the tick budget is spent, run on the main thread each tick
+     */
+    private void tick() {
+
+        if(this.cancelled) {
+            this.queue.clear();
+            this.complete();
+            return;
+        }
+
+        long deadline = System.nanoTime() + this.tickBudget;
+        do {
+            Line line = this.queue.poll();
+            if(line == null) {
+                break; // The reading is behind
+            }
+
+            if(line == END) {
+                this.complete();
+                return;
+            }
+
+            this.dispatch(line);
+        } while (System.nanoTime() < deadline);
+
+        if(++this.ticks % PROGRESS_INTERVAL == 0) {
+            this.sender.sendMessage(ChatColor.GRAY + String.format("Batch %s: %d%%, %d commands, %d failed.",
+                    this.file.getFileName(), (int)(this.getProgress() * 100), this.dispatched, this.failed));
+        }
+    }
+
+    /**
+     * @param line  Line to dispatch
+     */
+    private void dispatch(Line line) {
+
+        if(line.error != null) {
+            this.fail(line, line.error);
+            return;
+        }
+
+        try {
+            if(this.handler.dispatch(this.sender, line.label, line.args, false)) {
+                this.dispatched++;
+            } else {
+                this.fail(line, "Unknown command: " + line);
+            }
+        } catch (RuntimeException e) {
+            this.fail(line, e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * @param line      Line that failed
+     * @param message   Reason
+     */
+    private void fail(Line line, String message) {
+
+        this.failed++;
+        synchronized (this.failures) {
+            if(this.failures.size() < MAX_FAILURES) {
+                this.failures.add("line " + line.number + ": " + message);
+            }
+        }
+    }
+
+    /**
+     * Stop the task and complete the future, run on the main thread
+     */
+    private void complete() {
+
+        BukkitTask current = this.task;
+        if(current != null) {
+            current.cancel();
+        }
+
+        if(this.future.isDone()) {
+            return;
+        }
+
+        StringBuilder message = new StringBuilder();
+        message.append(this.failed == 0 ? ChatColor.GREEN : ChatColor.RED)
+                .append(String.format("Batch %s %s: %d commands, %d failed.", this.file.getFileName(),
+                        this.cancelled ? "cancelled" : "done", this.dispatched, this.failed));
+        List<String> failures = this.getFailures();
+        for(String failure : failures.subList(0, Math.min(5, failures.size()))) {
+            message.append('\n').append(ChatColor.GRAY).append(failure);
+        }
+
+        if(this.error != null) {
+            message.append('\n').append(ChatColor.RED).append("Read error: ").append(this.error.getMessage());
+        }
+
+        this.sender.sendMessage(message.toString());
+        if(this.error != null) {
+            this.future.completeExceptionally(this.error);
+        } else {
+            this.future.complete(this);
+        }
+    }
+
+    /**
+     * Line of the file split into tokens
+     */
+    private static final class Line {
+
+        private final int number;
+
+        private final String label;
+
+        private final String[] args;
+
+        /**
+         * Reason of the failure if the line can not be dispatched
+         */
+        private final String error;
+
+        private Line(int number, String label, String[] args, String error) {
+
+            this.number = number;
+            this.label = label;
+            this.args = args;
+            this.error = error;
+        }
+
+        @Override
+        public String toString() {
+
+            return this.args.length == 0 ? this.label : this.label + ' ' + String.join(" ", this.args);
+        }
+
+    }
+
+}
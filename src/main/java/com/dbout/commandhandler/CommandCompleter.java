@@ -0,0 +1,137 @@
+package com.dbout.commandhandler;
+
+import com.dbout.commandhandler.matchers.EnumMatcher;
+import org.bukkit.command.CommandSender;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * CommandCompleter
+ * Tab completion from the registered commands
+ * https://github.com/dimitriBouteille/command-handler
+ *
+ * @author  Dimitri BOUTEILLE <bonjour@dimitri-bouteille.fr>
+ * @version 1.0
+ */
+public class CommandCompleter {
+
+    /**
+     * Maximum number of suggestions returned
+     */
+    public static final int MAX_SUGGESTIONS = 64;
+
+    /**
+     * Values of a boolean parameter
+     */
+    private static final String[] BOOLEANS = {"false", "true"};
+
+    /**
+     * Handler of the commands
+     */
+    private final CommandHandler handler;
+
+    /**
+     * Constructor
+     * The player and world names come from the name index of the handler
+     *
+     * @param handler   Handler of the commands
+     */
+    public CommandCompleter(CommandHandler handler) { this.handler = handler; }
+
+    /**
+     * Suggest the next token of a command
+     *
+     * @param sender    Sender
+     * @param label     Command label
+     * @param args      Command arguments, the last one is the token being typed
+     * @return          Returns the suggestions
+     */
+    public List<String> complete(CommandSender sender, String label, String[] args) {
+
+        CommandIndex.Node node = this.handler.index.getNode(label);
+        if(node == null || args.length == 0) {
+            return Collections.emptyList();
+        }
+
+        List<String> suggestions = new ArrayList<>();
+        String prefix = args[args.length - 1];
+
+        // Walk the literal tokens, the commands of each node can have a parameter at the last position
+        int depth = 0;
+        while (node != null) {
+
+            this.completeParameters(node, sender, args, depth, prefix, suggestions);
+            if(depth == args.length - 1) {
+                SortedNames.addStartingWith(node.getSortedChildren(), prefix, suggestions, MAX_SUGGESTIONS);
+                break;
+            }
+
+            node = node.getChild(args[depth]);
+            depth++;
+        }
+
+        return suggestions;
+    }
+
+    /**
+     * Suggest the values of the parameters at the last position
+     *
+     * @param node          Node of the commands
+     * @param sender        Sender
+     * @param args          Command arguments
+     * @param offset        Index of the first parameter in args
+     * @param prefix        Token being typed
+     * @param suggestions   List in which the suggestions are added
+     */
+    private void completeParameters(CommandIndex.Node node, CommandSender sender, String[] args, int offset,
+                                    String prefix, List<String> suggestions) {
+
+        int position = args.length - 1 - offset;
+        for(Command command : node.getCommands()) {
+
+            CommandParameter[] parameters = command.getParameterDefinitions();
+            if(position >= parameters.length || !this.handler.canUse(command, sender)) {
+                continue;
+            }
+
+            // The tokens already typed must match the previous parameters
+            boolean valid = true;
+            for(int i = 0; i < position && valid; i++) {
+                valid = parameters[i].matches(args[offset + i]);
+            }
+
+            if(valid) {
+                this.completeParameter(parameters[position], prefix, suggestions);
+            }
+        }
+    }
+
+    /**
+     * Suggest the values of a parameter
+     *
+     * @param parameter     Parameter
+     * @param prefix        Token being typed
+     * @param suggestions   List in which the suggestions are added
+     */
+    private void completeParameter(CommandParameter parameter, String prefix, List<String> suggestions) {
+
+        switch (parameter.getType()) {
+            case PLAYER:
+                SortedNames.addStartingWith(this.handler.getNameResolver().getPlayerNames(), prefix, suggestions, MAX_SUGGESTIONS);
+                break;
+            case WORLD:
+                SortedNames.addStartingWith(this.handler.getNameResolver().getWorldNames(), prefix, suggestions, MAX_SUGGESTIONS);
+                break;
+            case BOOLEAN:
+                SortedNames.addStartingWith(BOOLEANS, prefix, suggestions, MAX_SUGGESTIONS);
+                break;
+            case ENUM:
+                SortedNames.addStartingWith(((EnumMatcher)parameter.getMatcher()).getNames(), prefix, suggestions, MAX_SUGGESTIONS);
+                break;
+            default:
+                break;
+        }
+    }
+
+}
@@ -0,0 +1,280 @@
+package com.dbout.commandhandler;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import jdk.jfr.StackTrace;
+
+/**
+ * CommandEvents
+ * Java Flight Recorder events of the dispatch, the matching, the permission checks and the execution of the commands
+ * The call sites only read the recording flag while no recording runs, the events are created when a recording runs
+ * /!\ jdk.jfr is only referenced once its presence is checked, the handler still runs on a Java 8 without JFR
+ * https://github.com/dimitriBouteille/command-handler
+ *
+ * @author  Dimitri BOUTEILLE <bonjour@dimitri-bouteille.fr>
+ * @version 1.0
+ */
+final class CommandEvents {
+
+    /**
+     * Outcomes of a dispatch
+     */
+    static final String EXECUTED = "executed";
+    static final String HELP = "help";
+    static final String UNKNOWN_LABEL = "unknown label";
+    static final String MISMATCH = "mismatch";
+
+    /**
+     * True while a Flight Recorder recording runs
+     */
+    static volatile boolean recording = false;
+
+    static {
+        try {
+            Class.forName("jdk.jfr.FlightRecorder");
+            RecordingListener.install();
+        } catch (ClassNotFoundException | LinkageError | SecurityException e) {
+            // No Flight Recorder, ie: Java 8 before 8u262
+        }
+    }
+
+    private CommandEvents() {}
+
+    /**
+     * @return  Returns the started event of a dispatch
+     */
+    static Object beginDispatch() {
+
+        DispatchEvent event = new DispatchEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * @param event     Event returned by beginDispatch() or null if no recording runs
+     * @param label     Command label
+     * @param arguments Number of arguments
+     * @param command   Command that matches or null
+     * @param alias     Command base or alias used or null
+     * @param outcome   Outcome, ie: CommandEvents.EXECUTED
+     */
+    static void commitDispatch(Object event, String label, int arguments, Command command, String alias, String outcome) {
+
+        if(event == null) {
+            return;
+        }
+
+        DispatchEvent dispatch = (DispatchEvent)event;
+        dispatch.end();
+        if(dispatch.shouldCommit()) {
+            dispatch.label = label;
+            dispatch.arguments = arguments;
+            dispatch.commandClass = command == null ? null : command.getClass();
+            dispatch.alias = alias;
+            dispatch.outcome = outcome;
+            dispatch.commit();
+        }
+    }
+
+    /**
+     * Match a candidate command and record it
+     *
+     * @param command   Candidate command
+     * @param base      Command base or alias of the candidate
+     * @param args      Command arguments
+     * @param offset    Index of the first argument after the base
+     * @return          Returns the match or null
+     */
+    static CommandMatch match(Command command, String base, String[] args, int offset) {
+
+        MatchEvent event = new MatchEvent();
+        event.begin();
+        CommandMatch match = command.match(base, args, offset);
+        event.end();
+        if(event.shouldCommit()) {
+            event.commandClass = command.getClass();
+            event.alias = base;
+            event.matched = match != null && match.isValid();
+            event.commit();
+        }
+
+        return match;
+    }
+
+    /**
+     * @return  Returns the started event of a permission check
+     */
+    static Object beginPermission() {
+
+        PermissionEvent event = new PermissionEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * @param event         Event returned by beginPermission() or null if no recording runs
+     * @param command       Command
+     * @param permission    Permission node
+     * @param granted       Result of the check
+     */
+    static void commitPermission(Object event, Command command, String permission, boolean granted) {
+
+        if(event == null) {
+            return;
+        }
+
+        PermissionEvent check = (PermissionEvent)event;
+        check.end();
+        if(check.shouldCommit()) {
+            check.commandClass = command.getClass();
+            check.permission = permission;
+            check.granted = granted;
+            check.commit();
+        }
+    }
+
+    /**
+     * @return  Returns the started event of an execution
+     */
+    static Object beginExecute() {
+
+        ExecuteEvent event = new ExecuteEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * @param event     Event returned by beginExecute() or null if no recording runs
+     * @param command   Command
+     * @param async     If true, execute() ran on the async executor
+     * @param error     Exception thrown by execute() or null
+     */
+    static void commitExecute(Object event, Command command, boolean async, Throwable error) {
+
+        if(event == null) {
+            return;
+        }
+
+        ExecuteEvent execute = (ExecuteEvent)event;
+        execute.end();
+        if(execute.shouldCommit()) {
+            execute.commandClass = command.getClass();
+            execute.command = command.getCommandBase();
+            execute.async = async;
+            execute.outcome = error == null ? "success" : error.getClass().getName();
+            execute.commit();
+        }
+    }
+
+    /**
+     * Update the recording flag when a recording starts or stops
+     */
+    private static final class RecordingListener implements FlightRecorderListener {
+
+        private static void install() { FlightRecorder.addListener(new RecordingListener()); }
+
+        @Override
+        public void recorderInitialized(FlightRecorder recorder) { RecordingListener.update(recorder); }
+
+        @Override
+        public void recordingStateChanged(Recording recording) { RecordingListener.update(FlightRecorder.getFlightRecorder()); }
+
+        private static void update(FlightRecorder recorder) {
+
+            boolean running = false;
+            for(Recording recording : recorder.getRecordings()) {
+                running |= recording.getState() == RecordingState.RUNNING;
+            }
+
+            CommandEvents.recording = running;
+        }
+
+    }
+
+    @Name("com.dbout.commandhandler.Dispatch")
+    @Label("Command Dispatch")
+    @Category({"Command Handler"})
+    @Description("Search and run of an executed command")
+    @StackTrace(false)
+    static final class DispatchEvent extends Event {
+
+        @Label("Label")
+        String label;
+
+        @Label("Arguments")
+        int arguments;
+
+        @Label("Command Class")
+        Class<?> commandClass;
+
+        @Label("Alias")
+        String alias;
+
+        @Label("Outcome")
+        String outcome;
+
+    }
+
+    @Name("com.dbout.commandhandler.Match")
+    @Label("Command Match")
+    @Category({"Command Handler"})
+    @Description("Match of a candidate command sharing the literal prefix of the executed command")
+    @StackTrace(false)
+    static final class MatchEvent extends Event {
+
+        @Label("Command Class")
+        Class<?> commandClass;
+
+        @Label("Alias")
+        String alias;
+
+        @Label("Matched")
+        boolean matched;
+
+    }
+
+    @Name("com.dbout.commandhandler.Permission")
+    @Label("Command Permission Check")
+    @Category({"Command Handler"})
+    @StackTrace(false)
+    static final class PermissionEvent extends Event {
+
+        @Label("Command Class")
+        Class<?> commandClass;
+
+        @Label("Permission")
+        String permission;
+
+        @Label("Granted")
+        boolean granted;
+
+    }
+
+    @Name("com.dbout.commandhandler.Execute")
+    @Label("Command Execute")
+    @Category({"Command Handler"})
+    @StackTrace(false)
+    static final class ExecuteEvent extends Event {
+
+        @Label("Command Class")
+        Class<?> commandClass;
+
+        @Label("Command")
+        String command;
+
+        @Label("Async")
+        boolean async;
+
+        @Label("Outcome")
+        String outcome;
+
+    }
+
+}
@@ -5,11 +5,33 @@ import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.ConsoleCommandSender;
+import org.bukkit.command.TabCompleter;
 import org.bukkit.entity.Player;
 import org.bukkit.permissions.Permission;
+import org.bukkit.plugin.Plugin;
+import java.nio.file.Path;
+import java.util.AbstractMap;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.stream.IntStream;
 
 /**
  * CommandHandler
@@ -18,28 +40,554 @@ import java.util.List;
  * @author  Dimitri BOUTEILLE <bonjour@dimitri-bouteille.fr>
  * @version 1.0
  */
-public class CommandHandler {
+public class CommandHandler implements TabCompleter {
 
     /**
      * List of commands that can be executed
      *
      * @since 1.0
      */
-    protected List<Command> commands = new ArrayList<>();
+    protected List<Command> commands = new CopyOnWriteArrayList<>();
+
+    /**
+     * Index of the commands by literal tokens
+     *
+     * @since 1.0
+     */
+    protected volatile CommandIndex index = new CommandIndex();
+
+    /**
+     * Registered commands by command, used to detect conflicts
+     * ie: myCommand :param1 :param2
+     */
+    private final Map<String, Command> commandKeys = new HashMap<>();
+
+    /**
+     * Registered commands by base, used to detect conflicts
+     * ie: myCommand
+     */
+    private final Map<String, Command> baseKeys = new HashMap<>();
+
+    /**
+     * Registered commands by alias, used to detect conflicts
+     */
+    private final Map<String, Command> aliasKeys = new HashMap<>();
+
+    /**
+     * Message sent when a player must wait, shared to not build a message by rejection
+     *
+     * @since 1.0
+     */
+    protected static final String RATE_LIMITED_MESSAGE = ChatColor.RED + "You must wait before using this command again.";
 
     /**
      * Console sender
      *
-     * @since 1.0
+     * @since 1.0
+     */
+    protected ConsoleCommandSender consoleSender;
+
+    /**
+     * Plugin that owns the handler, required by the asynchronous commands
+     *
+     * @since 1.0
+     */
+    protected Plugin plugin;
+
+    /**
+     * Executor of the asynchronous commands, created on first use if not set
+     *
+     * @since 1.0
+     */
+    protected volatile Executor asyncExecutor;
+
+    /**
+     * Executor created by the handler, shut down by shutdown()
+     */
+    private ExecutorService defaultExecutor;
+
+    /**
+     * Lock of the creation and the shutdown of the default executor, not the handler monitor held by registerCommands()
+     */
+    private final Object executorLock = new Object();
+
+    /**
+     * Cache of the permission checks, null if the handler has no plugin to listen the players
+     *
+     * @since 1.0
+     */
+    protected PermissionCache permissionCache;
+
+    /**
+     * Tab completion of the commands
+     *
+     * @since 1.0
+     */
+    protected CommandCompleter completer;
+
+    /**
+     * Paginated list of the commands that a sender can run
+     *
+     * @since 1.0
+     */
+    protected HelpIndex helpIndex;
+
+    /**
+     * Index of the players and worlds used by the player and world parameters
+     *
+     * @since 1.0
+     */
+    protected NameResolver nameResolver;
+
+    /**
+     * Nearest commands of an executed command that matches nothing
+     *
+     * @since 1.0
+     */
+    protected SuggestionIndex suggestionIndex = new SuggestionIndex(this);
+
+    /**
+     * Maximum number of commands suggested on a miss, 0 to disable the suggestions
+     */
+    private volatile int maxSuggestions = 3;
+
+    /**
+     * If true, the counters and durations of the commands are recorded
+     */
+    private volatile boolean metricsEnabled = true;
+
+    /**
+     * Number of executed commands whose label is the first token of no base or alias, rejected before any matcher
+     */
+    private final LongAdder unknownLabelMisses = new LongAdder();
+
+    /**
+     * Number of executed commands whose label is known but whose literal tokens or parameters match no command
+     */
+    private final LongAdder mismatchMisses = new LongAdder();
+
+    /**
+     * Duration of the search of the executed commands that match no command
+     */
+    private final LatencyHistogram missLatency = new LatencyHistogram();
+
+    /**
+     * Log one permission check out of auditSampleRate, 0 to disable the audit
+     */
+    private volatile int auditSampleRate = 0;
+
+    /**
+     * Number of permission checks, used to sample the audit
+     */
+    private final AtomicLong permissionChecks = new AtomicLong();
+
+    /**
+     * Interceptors and the commands to which they apply, in the order they were added
+     */
+    private final List<Map.Entry<CommandInterceptor, Predicate<Command>>> interceptors = new ArrayList<>();
+
+    /**
+     * Reports the commands whose execute() overruns a budget, null if disabled
+     */
+    private volatile CommandWatchdog watchdog;
+
+    /**
+     * If true, the parameters of the registered commands are read on first dispatch or by warmUp()
+     */
+    private volatile boolean lazyInit = false;
+
+    /**
+     * Constructor
+     */
+    public CommandHandler() {
+
+        this.consoleSender = Bukkit.getConsoleSender();
+        this.completer = new CommandCompleter(this);
+        this.helpIndex = new HelpIndex(this, false);
+        this.nameResolver = new NameResolver(false);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param plugin    Plugin that owns the handler
+     */
+    public CommandHandler(Plugin plugin) {
+
+        this();
+        this.plugin = plugin;
+        this.permissionCache = new PermissionCache();
+        this.helpIndex = new HelpIndex(this, true);
+        this.nameResolver = new NameResolver(true);
+        Bukkit.getPluginManager().registerEvents(this.permissionCache, plugin);
+        Bukkit.getPluginManager().registerEvents(this.helpIndex, plugin);
+        Bukkit.getPluginManager().registerEvents(this.nameResolver, plugin);
+    }
+
+    /**
+     * Log the permission checks in the console, outside the main thread
+     * Requires a plugin
+     *
+     * @param sampleRate    Log one check out of sampleRate, 1 to log all checks, 0 to disable the audit
+     * @return              Return CommandHandler instance
+     */
+    public CommandHandler setPermissionAudit(int sampleRate) {
+
+        if(sampleRate > 0 && this.plugin == null) {
+            throw new IllegalStateException("The handler needs a plugin to audit the permissions.");
+        }
+
+        this.auditSampleRate = Math.max(0, sampleRate);
+        return this;
+    }
+
+    /**
+     * Remove the cached permission checks of a player
+     * Must be called after the permissions of the player change, ie: op/deop, a permission attachment or a permission plugin event
+     * Otherwise a removed permission can stay granted until the check expires, see PermissionCache.DEFAULT_TTL
+     *
+     * @param playerId  Player UUID
+     */
+    public void invalidatePermissions(UUID playerId) {
+
+        if(this.permissionCache != null) {
+            this.permissionCache.invalidate(playerId);
+        }
+
+        this.helpIndex.invalidate(playerId);
+    }
+
+    /**
+     * Remove all cached permission checks
+     * Must be called after the permissions of many players change, ie: a permission plugin reloads its groups
+     * The checks are already removed when a plugin is enabled or disabled
+     */
+    public void invalidatePermissions() {
+
+        if(this.permissionCache != null) {
+            this.permissionCache.invalidateAll();
+        }
+
+        this.helpIndex.invalidateAll();
+    }
+
+    /**
+     * Add an interceptor to all commands
+     *
+     * @param interceptor   Interceptor
+     * @return              Return CommandHandler instance
+     */
+    public CommandHandler addInterceptor(CommandInterceptor interceptor) {
+
+        return this.addInterceptor(interceptor, command -> true);
+    }
+
+    /**
+     * Add an interceptor to some commands
+     * The interceptors of each command are resolved here and at registration, not when a command is executed
+     *
+     * @param interceptor   Interceptor
+     * @param filter        Commands to which the interceptor applies
+     * @return              Return CommandHandler instance
+     */
+    public synchronized CommandHandler addInterceptor(CommandInterceptor interceptor, Predicate<Command> filter) {
+
+        this.interceptors.add(new AbstractMap.SimpleImmutableEntry<>(interceptor, filter));
+        for(Command command : this.commands) {
+            this.resolveInterceptors(command);
+        }
+
+        return this;
+    }
+
+    /**
+     * Remove an interceptor from all commands
+     *
+     * @param interceptor   Interceptor
+     * @return              Return CommandHandler instance
+     */
+    public synchronized CommandHandler removeInterceptor(CommandInterceptor interceptor) {
+
+        this.interceptors.removeIf(entry -> entry.getKey() == interceptor);
+        for(Command command : this.commands) {
+            this.resolveInterceptors(command);
+        }
+
+        return this;
+    }
+
+    /**
+     * Set the interceptors that apply to a command
+     *
+     * @param command   Command
+     */
+    private void resolveInterceptors(Command command) {
+
+        List<CommandInterceptor> resolved = new ArrayList<>();
+        for(Map.Entry<CommandInterceptor, Predicate<Command>> entry : this.interceptors) {
+            if(entry.getValue().test(command)) {
+                resolved.add(entry.getKey());
+            }
+        }
+
+        command.setInterceptors(resolved.toArray(new CommandInterceptor[0]));
+    }
+
+    /**
+     * Set the number of commands suggested to the sender when an executed command matches nothing
+     * ie: /sapwn => Did you mean: /spawn
+     *
+     * @param max   Maximum number of suggestions, 0 to disable the suggestions
+     * @return      Return CommandHandler instance
+     */
+    public CommandHandler setMaxSuggestions(int max) {
+
+        this.maxSuggestions = Math.max(0, max);
+        return this;
+    }
+
+    /**
+     * Enable or disable the lazy initialisation, disabled by default
+     * When enabled, registerCommand() only indexes the fixed part and the aliases of the commands,
+     * the parameters are read on first dispatch or by warmUp()
+     * /!\ An invalid parameter is then reported on first dispatch instead of at registration
+     *
+     * @param lazy  If true, the commands are initialized lazily
+     * @return      Return CommandHandler instance
+     */
+    public CommandHandler setLazyInit(boolean lazy) {
+
+        this.lazyInit = lazy;
+        return this;
+    }
+
+    /**
+     * @return  Returns true if the commands are initialized lazily
+     */
+    public boolean isLazyInit() { return this.lazyInit; }
+
+    /**
+     * Initialize all commands that are not initialized yet, outside the main thread
+     * ie: handler.warmUp() at the end of onEnable()
+     *
+     * @return  Returns a future completed when all commands are initialized
+     */
+    public CompletableFuture<Void> warmUp() { return this.warmUp(this.commands); }
+
+    /**
+     * Initialize commands that are not initialized yet, outside the main thread
+     *
+     * @param commands  Commands to initialize
+     * @return          Returns a future completed when the commands are initialized,
+     *                  or completed with the exception of the first command that fails
+     */
+    public CompletableFuture<Void> warmUp(Collection<? extends Command> commands) {
+
+        List<Command> pending = new ArrayList<>();
+        for(Command command : commands) {
+            if(!command.isInitialized()) {
+                pending.add(command);
+            }
+        }
+
+        if(pending.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return CompletableFuture.runAsync(() -> {
+            CommandHandlerException error = null;
+            for(Command command : pending) {
+                try {
+                    command.initParameters();
+                } catch (CommandHandlerException e) {
+                    if(error == null) {
+                        error = e;
+                    }
+                }
+            }
+
+            if(error != null) {
+                throw new CompletionException(error);
+            }
+        }, this.getAsyncExecutor());
+    }
+
+    /**
+     * Enable or disable the counters and durations of the commands, enabled by default
+     *
+     * @param enabled   If true, the metrics are recorded
+     * @return          Return CommandHandler instance
+     */
+    public CommandHandler setMetricsEnabled(boolean enabled) {
+
+        this.metricsEnabled = enabled;
+        return this;
+    }
+
+    /**
+     * @return  Returns true if the counters and durations of the commands are recorded
+     */
+    public boolean isMetricsEnabled() { return this.metricsEnabled; }
+
+    /**
+     * @return  Returns the number of executed commands that match no command
+     */
+    public long getMisses() { return this.unknownLabelMisses.sum() + this.mismatchMisses.sum(); }
+
+    /**
+     * @return  Returns the number of executed commands rejected by their label, without running any matcher
+     */
+    public long getUnknownLabelMisses() { return this.unknownLabelMisses.sum(); }
+
+    /**
+     * @return  Returns the number of executed commands with a known label that match no command
+     */
+    public long getMismatchMisses() { return this.mismatchMisses.sum(); }
+
+    /**
+     * @return  Returns the duration of the search of the executed commands that match no command
+     */
+    public LatencyHistogram getMissLatency() { return this.missLatency; }
+
+    /**
+     * Remove the counters and durations of the handler and of all commands
+     */
+    public void resetMetrics() {
+
+        this.unknownLabelMisses.reset();
+        this.mismatchMisses.reset();
+        this.missLatency.reset();
+        for(Command command : this.commands) {
+            command.getMetrics().reset();
+        }
+    }
+
+    /**
+     * Report the commands whose execute() overruns a tick, in the logger of the plugin
+     *
+     * @return  Return CommandHandler instance
+     */
+    public CommandHandler setWatchdog() { return this.setWatchdog(CommandWatchdog.DEFAULT_BUDGET, TimeUnit.MILLISECONDS); }
+
+    /**
+     * Report the commands whose execute() overruns a budget, in the logger of the plugin
+     * The stack of a command is captured once it runs for CommandWatchdog.SAMPLE_FACTOR budgets
+     *
+     * @param budget    Budget of execute(), ie: 50ms is a tick, 0 to disable the watchdog
+     * @param unit      Budget unit
+     * @return          Return CommandHandler instance
+     */
+    public synchronized CommandHandler setWatchdog(long budget, TimeUnit unit) {
+
+        if(this.watchdog != null) {
+            this.watchdog.shutdown();
+        }
+
+        this.watchdog = budget > 0 ? new CommandWatchdog(this.plugin == null ? null : this.plugin.getLogger(), budget, unit) : null;
+        return this;
+    }
+
+    /**
+     * @return  Returns the watchdog of the slow commands or null if disabled
+     */
+    public CommandWatchdog getWatchdog() { return this.watchdog; }
+
+    /**
+     * Set the executor of the asynchronous commands
+     *
+     * @param executor  Executor
+     * @return          Return CommandHandler instance
+     */
+    public CommandHandler setAsyncExecutor(Executor executor) {
+
+        this.asyncExecutor = executor;
+        return this;
+    }
+
+    /**
+     * Stop the executor created by the handler, ie: in onDisable()
+     */
+    public synchronized void shutdown() {
+
+        if(this.watchdog != null) {
+            this.watchdog.shutdown();
+        }
+
+        synchronized (this.executorLock) {
+            if(this.defaultExecutor != null) {
+                this.defaultExecutor.shutdown();
+                if(this.asyncExecutor == this.defaultExecutor) {
+                    this.asyncExecutor = null;
+                }
+
+                this.defaultExecutor = null;
+            }
+        }
+    }
+
+    /**
+     * Schedule a task on the main thread with the Bukkit scheduler
+     * The task is run immediately if the current thread is the main thread
+     *
+     * @param task  Task
+     * @return      Returns a future completed when the task has run
+     */
+    public CompletableFuture<Void> runSync(Runnable task) {
+
+        if(this.plugin == null) {
+            throw new IllegalStateException("The handler needs a plugin to schedule a task on the main thread.");
+        }
+
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        Runnable run = () -> {
+            try {
+                task.run();
+                future.complete(null);
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        };
+
+        if(Bukkit.isPrimaryThread()) {
+            run.run();
+        } else {
+            Bukkit.getScheduler().runTask(this.plugin, run);
+        }
+
+        return future;
+    }
+
+    /**
+     * Run the commands of a file, one by line, in chunks of DEFAULT_TICK_BUDGET ms by tick
+     * Empty lines and lines starting with # are skipped
+     *
+     * @param file      Command file, encoded in UTF-8
+     * @param sender    Sender of the commands, ie: the console
+     * @return          Returns the batch, to follow its progress
      */
-    protected ConsoleCommandSender consoleSender;
+    public CommandBatch runBatch(Path file, CommandSender sender) {
+
+        return this.runBatch(file, sender, CommandBatch.DEFAULT_TICK_BUDGET);
+    }
 
     /**
-     * Constructor
+     * Run the commands of a file, one by line, without freezing the server
+     * The file is read on the async executor, the commands are run on the main thread
+     *
+     * @param file          Command file, encoded in UTF-8
+     * @param sender        Sender of the commands, ie: the console
+     * @param tickBudget    Time spent on the main thread by tick, in milliseconds
+     * @return              Returns the batch, to follow its progress
      */
-    public CommandHandler() {
+    public CommandBatch runBatch(Path file, CommandSender sender, long tickBudget) {
 
-        this.consoleSender = Bukkit.getConsoleSender();
+        if(this.plugin == null) {
+            throw new IllegalStateException("The handler needs a plugin to run a batch on the main thread.");
+        }
+
+        CommandBatch batch = new CommandBatch(this, file, sender, tickBudget);
+        batch.start(this.plugin, this.getAsyncExecutor());
+        return batch;
     }
 
     /**
@@ -51,28 +599,185 @@ public class CommandHandler {
      */
     public CommandHandler registerCommand(Command command) throws CommandHandlerException {
 
-        // Test to initialize the command
-        command.init();
+        return this.registerCommands(Collections.singletonList(command));
+    }
 
-        for(Command cmd : this.commands) {
+    /**
+     * Register new commands
+     * The commands are initialized in parallel and published together, or none is published if one fails
+     *
+     * @param commands  New commands
+     * @return          Return CommandHandler instance
+     * @throws CommandHandlerException  Exception when initialisation of a command or if a command already exists
+     */
+    public synchronized CommandHandler registerCommands(Collection<? extends Command> commands) throws CommandHandlerException {
 
-            // Check if alias is already use
-            for(String alias : command.getAliases()) {
-                if(cmd.getAliases().contains(alias)) {
-                    throw new AliasAlreadyExist(alias, cmd, command);
-                }
+        List<Command> added = new ArrayList<>();
+        for(Command command : commands) {
+            CommandHandler.addWithSubCommands(command, added);
+        }
+
+        this.initCommands(added);
+
+        // Check the conflicts with the registered commands and between the new commands
+        Map<String, Command> newCommandKeys = new HashMap<>();
+        Map<String, Command> newBaseKeys = new HashMap<>();
+        Map<String, Command> newAliasKeys = new HashMap<>();
+        for(Command command : added) {
+
+            if(command.isAsync() && this.plugin == null) {
+                throw new CommandHandlerException(String.format("The command [%s] is asynchronous, the handler needs a plugin.", command));
             }
 
-            if(cmd.getCommand().equals(command.getCommand())) {
+            String key = CommandHandler.normalize(command.getCommand());
+            if(this.commandKeys.containsKey(key) || newCommandKeys.putIfAbsent(key, command) != null) {
                 throw new CommandAlreadyExist(command);
             }
+
+            // Check if base is already use by another command as alias
+            // The bases of a subcommand include the combinations of the aliases of its parents with its fixed part
+            List<String> bases = command.getAllBases();
+            for(int i = 0; i < bases.size(); i++) {
+                if(!command.isAliasBase(i)) {
+
+                    String baseKey = CommandHandler.normalize(bases.get(i));
+                    Command owner = this.aliasKeys.get(baseKey);
+                    if(owner != null && owner != command) {
+                        throw new AliasAlreadyExist(bases.get(i), owner, command);
+                    }
+
+                    newBaseKeys.putIfAbsent(baseKey, command);
+                }
+            }
         }
 
+        for(Command command : added) {
 
-        this.commands.add(command);
+            // Check if alias is already use by another command as alias or as base
+            // Only the combinations ending with an alias of the command must be unique
+            List<String> bases = command.getAllBases();
+            for(int i = 0; i < bases.size(); i++) {
+
+                if(!command.isAliasBase(i)) {
+                    continue;
+                }
+
+                String alias = bases.get(i);
+                String key = CommandHandler.normalize(alias);
+                Command owner = this.aliasKeys.get(key);
+                if(owner == null) {
+                    owner = newAliasKeys.putIfAbsent(key, command);
+                }
+
+                if(owner == null) {
+                    owner = this.baseKeys.get(key);
+                }
+
+                if(owner == null) {
+                    owner = newBaseKeys.get(key);
+                }
+
+                if(owner != null && owner != command) {
+                    throw new AliasAlreadyExist(alias, owner, command);
+                }
+            }
+        }
+
+        // Publish
+        this.commandKeys.putAll(newCommandKeys);
+        newBaseKeys.forEach(this.baseKeys::putIfAbsent);
+        this.aliasKeys.putAll(newAliasKeys);
+        for(Command command : added) {
+            command.setHandler(this);
+            this.resolveInterceptors(command);
+        }
+
+        if(added.size() == 1) {
+            this.index.add(added.get(0));
+        } else {
+
+            // Build a new index and replace the current one, the new commands are visible at the same time
+            CommandIndex next = new CommandIndex();
+            for(Command command : this.commands) {
+                next.add(command);
+            }
+
+            for(Command command : added) {
+                next.add(command);
+            }
+
+            this.index = next;
+        }
+
+        this.commands.addAll(added);
+        this.helpIndex.invalidateAll();
+        this.suggestionIndex.add(added);
         return this;
     }
 
+    /**
+     * Add a command then its subcommands, depth first
+     *
+     * @param command   Command
+     * @param commands  List in which the commands are added
+     */
+    private static void addWithSubCommands(Command command, List<Command> commands) {
+
+        commands.add(command);
+        for(Command subCommand : command.getSubCommands()) {
+            CommandHandler.addWithSubCommands(subCommand, commands);
+        }
+    }
+
+    /**
+     * Initialize commands, in parallel if there are several commands
+     * In lazy mode, only the literal part of the commands is read
+     *
+     * @param commands  Commands
+     * @throws CommandHandlerException  Exception of the first command that fails
+     */
+    private void initCommands(List<Command> commands) throws CommandHandlerException {
+
+        // The literal part is read in order, a parent before its subcommands
+        for(Command command : commands) {
+            command.prepare();
+        }
+
+        // Only the literal part is needed to index the commands
+        if(this.lazyInit) {
+            return;
+        }
+
+        if(commands.size() == 1) {
+            commands.get(0).initParameters();
+            return;
+        }
+
+        CommandHandlerException[] errors = new CommandHandlerException[commands.size()];
+        IntStream.range(0, commands.size()).parallel().forEach(i -> {
+            try {
+                commands.get(i).initParameters();
+            } catch (CommandHandlerException e) {
+                errors[i] = e;
+            }
+        });
+
+        for(CommandHandlerException error : errors) {
+            if(error != null) {
+                throw error;
+            }
+        }
+    }
+
+    /**
+     * @param literal   Command, base or alias
+     * @return          Returns the literal with single spaces, ie: 'my  command' => 'my command'
+     */
+    private static String normalize(String literal) {
+
+        return String.join(" ", literal.trim().split("\\s+"));
+    }
+
     /**
      * Run command on onCommand() method with notifySender=true
      *
@@ -97,30 +802,136 @@ public class CommandHandler {
      */
     public boolean runCommand(CommandSender sender, org.bukkit.command.Command commandPassed, String[] args, boolean notifySender) {
 
-        // Format the command that has just been executed
-        String commandExecute = commandPassed.getName() + ' ' + String.join(" ", Arrays.asList(args));
+        this.dispatch(sender, commandPassed.getName(), args, notifySender);
+        return true;
+    }
+
+    /**
+     * Run the command that matches an executed command
+     * ie: a line of a batch, without Bukkit command
+     *
+     * @param sender        Sender
+     * @param label         Command label, first token of the executed command
+     * @param args          Command arguments
+     * @param notifySender  If true, sender is informed if has not permission
+     * @return              Returns false if no command matches
+     */
+    public boolean dispatch(CommandSender sender, String label, String[] args, boolean notifySender) {
 
         // Search for the command that matches the command that has just been executed
-        for(Command command : this.commands) {
+        // Only the commands sharing the literal prefix are tested, the longest first
+        // The arguments are matched in place, nothing is allocated until a command matches
+
+        boolean metrics = this.metricsEnabled;
+        long start = metrics ? System.nanoTime() : 0;
+        Object event = CommandEvents.recording ? CommandEvents.beginDispatch() : null;
+
+        // The label is the first token of no base or alias, rejected with a single lookup
+        // ie : the handler is the executor of a catch-all label
+        CommandIndex.Node node = this.index.getNode(label);
+        if(node == null) {
+            if(metrics) {
+                this.missLatency.record(System.nanoTime() - start);
+                this.unknownLabelMisses.increment();
+            }
 
-            // Is help command
-            // ie : /myCommand ?
-            if(command.matchHelp(commandExecute)) {
-                this.showHelpMessage(command, sender, notifySender);
-                break;
+            if(notifySender && this.maxSuggestions > 0) {
+                this.suggestCommands(sender, label, args);
             }
 
-            // Is basic command
-            // ie : /myCommand param1 param2
-            if(command.match(commandExecute)) {
-                this.callCommand(command, sender, notifySender);
-                break;
+            CommandEvents.commitDispatch(event, label, args.length, null, null, CommandEvents.UNKNOWN_LABEL);
+            return false;
+        }
+
+        // Is help command
+        // ie : /myCommand ?
+        Command help = node.matchHelp(args, 0);
+        if(help != null) {
+            if(metrics) {
+                help.getMetrics().recordHelpRequest(System.nanoTime() - start);
+            }
+
+            this.showHelpMessage(help, sender, notifySender);
+            CommandEvents.commitDispatch(event, label, args.length, help, help.getCommandBase(), CommandEvents.HELP);
+            return true;
+        }
+
+        // Is basic command
+        // ie : /myCommand param1 param2
+        CommandMatch match = node.match(args, 0);
+        if(match == null) {
+            if(metrics) {
+                this.missLatency.record(System.nanoTime() - start);
+                this.mismatchMisses.increment();
+            }
+
+            if(notifySender && this.maxSuggestions > 0) {
+                this.suggestCommands(sender, label, args);
             }
+
+            CommandEvents.commitDispatch(event, label, args.length, null, null, CommandEvents.MISMATCH);
+            return false;
+        }
+
+        if(metrics) {
+            match.getCommand().getMetrics().recordMatch(System.nanoTime() - start);
         }
 
+        this.callCommand(match, sender, notifySender);
+        CommandEvents.commitDispatch(event, label, args.length, match.getCommand(), match.getBase(), CommandEvents.EXECUTED);
         return true;
     }
 
+    /**
+     * Send the nearest commands of an executed command that matches nothing
+     * Nothing is sent if no command is near
+     *
+     * @param sender    Sender
+     * @param label     Command label
+     * @param args      Command arguments
+     */
+    private void suggestCommands(CommandSender sender, String label, String[] args) {
+
+        List<Command> suggestions = this.suggestionIndex.suggest(sender, label, args, this.maxSuggestions);
+        if(suggestions.isEmpty()) {
+            return;
+        }
+
+        StringBuilder message = new StringBuilder();
+        message.append(ChatColor.RED).append("Unknown command.");
+        message.append('\n').append(ChatColor.GREEN).append("Did you mean:");
+        for(Command command : suggestions) {
+            message.append('\n').append(ChatColor.WHITE).append(command.getUsage());
+        }
+
+        sender.sendMessage(message.toString());
+    }
+
+    /**
+     * Tab completion of the commands
+     *
+     * @param sender    Sender
+     * @param command   Command
+     * @param alias     Alias used
+     * @param args      Command arguments, the last one is the token being typed
+     * @return          Returns the suggestions
+     */
+    @Override
+    public List<String> onTabComplete(CommandSender sender, org.bukkit.command.Command command, String alias, String[] args) {
+
+        return this.completer.complete(sender, command.getName(), args);
+    }
+
+    /**
+     * @return  Returns the paginated list of the commands that a sender can run
+     */
+    public HelpIndex getHelpIndex() { return this.helpIndex; }
+
+    /**
+     * @return  Returns the index of the players and worlds used by the player and world parameters
+     */
+    public NameResolver getNameResolver() { return this.nameResolver; }
+
     /**
      * @return  Returns all commands
      */
@@ -129,16 +940,239 @@ public class CommandHandler {
     /**
      * Call command
      *
-     * @param command       Command
+     * @param match         Command that matches
      * @param sender        Sender
      * @param notifySender  If true, sender is informed if has not permission
      */
-    private void callCommand(Command command, CommandSender sender, boolean notifySender) {
+    private void callCommand(CommandMatch match, CommandSender sender, boolean notifySender) {
 
+        Command command = match.getCommand();
         if(this.canRunCommand(command, sender, notifySender)) {
 
+            // A parameter value was rejected when matching
+            if(!match.isValid()) {
+                sender.sendMessage(ChatColor.RED + match.getError() + '\n'
+                        + ChatColor.GREEN + "Usage: " + ChatColor.WHITE + command.getUsage());
+                return;
+            }
+
+            // An asynchronous command already running does not take a permit of the player
+            boolean async = command.isAsync();
+            if(async && !command.acquireExecution()) {
+                if(notifySender) {
+                    sender.sendMessage("This command is already running, please wait.");
+                }
+
+                return;
+            }
+
+            // Cooldown or rate limit of the player
+            if(!this.tryAcquire(command, sender)) {
+                if(async) {
+                    command.releaseExecution();
+                }
+
+                if(notifySender) {
+                    sender.sendMessage(RATE_LIMITED_MESSAGE);
+                }
+
+                return;
+            }
+
             // Call callback function
-            command.execute(sender, command.getMatchesParameters());
+            if(async) {
+                this.callCommandAsync(command, sender, match.getParameters());
+                return;
+            }
+
+            CommandParameters parameters = match.getParameters();
+            CommandInterceptor[] interceptors = command.getInterceptors();
+            int passed = CommandHandler.preHandle(interceptors, command, sender, parameters);
+            if(passed < interceptors.length) {
+                CommandHandler.postHandle(interceptors, passed, command, sender, parameters, null);
+                return;
+            }
+
+            CommandWatchdog watchdog = this.watchdog;
+            CommandWatchdog.Execution execution = watchdog == null ? null : watchdog.enter(command, sender, parameters);
+            Object event = CommandEvents.recording ? CommandEvents.beginExecute() : null;
+            long start = System.nanoTime();
+            Throwable error = null;
+            try {
+                command.execute(sender, parameters);
+            } catch (Throwable e) {
+                error = e;
+                throw e;
+            } finally {
+                this.recordExecution(command, start);
+                CommandEvents.commitExecute(event, command, false, error);
+                if(execution != null) {
+                    watchdog.exit(execution);
+                }
+
+                CommandHandler.postHandle(interceptors, passed, command, sender, parameters, error);
+            }
+        }
+    }
+
+    /**
+     * Take a permit of the cooldown or rate limit of a command
+     * The console is never limited
+     *
+     * @param command   Command
+     * @param sender    Sender
+     * @return          Returns true if the sender can execute the command now
+     */
+    private boolean tryAcquire(Command command, CommandSender sender) {
+
+        RateLimiter rateLimiter = command.getRateLimiter();
+        if(rateLimiter == null || !(sender instanceof Player) || rateLimiter.tryAcquire(((Player)sender).getUniqueId())) {
+            return true;
+        }
+
+        if(this.metricsEnabled) {
+            command.getMetrics().recordRateLimited();
+        }
+
+        return false;
+    }
+
+    /**
+     * Call the command on the async executor, the execution is already reserved by acquireExecution()
+     *
+     * @param command       Command
+     * @param sender        Sender
+     * @param parameters    Parameters found in the executed command
+     */
+    private void callCommandAsync(Command command, CommandSender sender, CommandParameters parameters) {
+
+        // The interceptors are called before on the main thread, they can use the Bukkit API
+        CommandInterceptor[] interceptors = command.getInterceptors();
+        int passed = CommandHandler.preHandle(interceptors, command, sender, parameters);
+        if(passed < interceptors.length) {
+            command.releaseExecution();
+            CommandHandler.postHandle(interceptors, passed, command, sender, parameters, null);
+            return;
+        }
+
+        try {
+            this.getAsyncExecutor().execute(() -> {
+                CommandWatchdog watchdog = this.watchdog;
+                CommandWatchdog.Execution execution = watchdog == null ? null : watchdog.enter(command, sender, parameters);
+                Object event = CommandEvents.recording ? CommandEvents.beginExecute() : null;
+                long start = System.nanoTime();
+                Throwable error = null;
+                try {
+                    command.execute(sender, parameters);
+                } catch (Throwable e) {
+                    error = e;
+                    this.plugin.getLogger().log(Level.SEVERE, String.format("The command [%s] failed.", command), e);
+                } finally {
+                    this.recordExecution(command, start);
+                    CommandEvents.commitExecute(event, command, true, error);
+                    if(execution != null) {
+                        watchdog.exit(execution);
+                    }
+
+                    command.releaseExecution();
+                    CommandHandler.postHandle(interceptors, passed, command, sender, parameters, error);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            command.releaseExecution();
+            this.plugin.getLogger().log(Level.SEVERE, String.format("The command [%s] was rejected by the executor.", command), e);
+            CommandHandler.postHandle(interceptors, passed, command, sender, parameters, e);
+        }
+    }
+
+    /**
+     * Call preHandle() of the interceptors until one stops the command
+     *
+     * @param interceptors  Interceptors of the command
+     * @param command       Command
+     * @param sender        Sender
+     * @param parameters    Parameters found in the executed command
+     * @return              Returns the number of interceptors whose preHandle() returned true
+     */
+    private static int preHandle(CommandInterceptor[] interceptors, Command command, CommandSender sender, CommandParameters parameters) {
+
+        int i = 0;
+        while (i < interceptors.length && interceptors[i].preHandle(command, sender, parameters)) {
+            i++;
+        }
+
+        return i;
+    }
+
+    /**
+     * Call postHandle() of the interceptors whose preHandle() returned true, in reverse order
+     *
+     * @param interceptors  Interceptors of the command
+     * @param passed        Number of interceptors whose preHandle() returned true
+     * @param command       Command
+     * @param sender        Sender
+     * @param parameters    Parameters found in the executed command
+     * @param error         Exception thrown by execute() or null
+     */
+    private static void postHandle(CommandInterceptor[] interceptors, int passed, Command command, CommandSender sender,
+                                   CommandParameters parameters, Throwable error) {
+
+        for(int i = passed - 1; i >= 0; i--) {
+            interceptors[i].postHandle(command, sender, parameters, error);
+        }
+    }
+
+    /**
+     * Record the duration of execute()
+     *
+     * @param command   Command
+     * @param start     System.nanoTime() before execute()
+     */
+    private void recordExecution(Command command, long start) {
+
+        if(this.metricsEnabled) {
+            command.getMetrics().recordExecution(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * @return  Returns the executor of the asynchronous commands
+     */
+    private Executor getAsyncExecutor() {
+
+        Executor executor = this.asyncExecutor;
+        if(executor == null) {
+            synchronized (this.executorLock) {
+                executor = this.asyncExecutor;
+                if(executor == null) {
+                    this.defaultExecutor = CommandHandler.createDefaultExecutor();
+                    executor = this.defaultExecutor;
+                    this.asyncExecutor = executor;
+                }
+            }
+        }
+
+        return executor;
+    }
+
+    /**
+     * Create an executor with virtual threads on Java 21+ or with a cached thread pool
+     *
+     * @return  Returns the executor
+     */
+    private static ExecutorService createDefaultExecutor() {
+
+        try {
+            return (ExecutorService)Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+
+            // Java < 21
+            AtomicInteger count = new AtomicInteger();
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "CommandHandler-async-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
         }
     }
 
@@ -173,18 +1207,39 @@ public class CommandHandler {
                 return true;
             } else {
 
+                if(this.metricsEnabled) {
+                    command.getMetrics().recordPermissionDenial();
+                }
+
                 if(notifySender) {
                     sender.sendMessage("You don't have the required permission(s)");
                 }
             }
         } else {
 
+            if(this.metricsEnabled) {
+                command.getMetrics().recordSenderRejection();
+            }
+
             this.consoleSender.sendMessage("You can't execute this command in this context ...");
         }
 
         return false;
     }
 
+    /**
+     * Check if sender can run command, without message
+     *
+     * @param command   Command
+     * @param sender    Sender
+     * @return          Returns true if sender can call command or false
+     */
+    boolean canUse(Command command, CommandSender sender) {
+
+        return com.dbout.commandhandler.CommandSender.canExecuteCommand(command, sender)
+                && this.hasPermission(sender, command, false);
+    }
+
     /**
      * Checks if a sender has permission to execute a command
      *
@@ -194,6 +1249,19 @@ public class CommandHandler {
      */
     private boolean hasPermission(CommandSender sender, Command command) {
 
+        return this.hasPermission(sender, command, true);
+    }
+
+    /**
+     * Checks if a sender has permission to execute a command
+     *
+     * @param sender    User who just executed the command
+     * @param command   Command
+     * @param audit     If true, the check can be logged by the audit
+     * @return          Returns true if the user can execute the command or false
+     */
+    private boolean hasPermission(CommandSender sender, Command command, boolean audit) {
+
         if(!(sender instanceof  Player)) {
             return true;
         }
@@ -204,25 +1272,40 @@ public class CommandHandler {
         }
 
         Player player = (Player)sender;
+        Object event = CommandEvents.recording ? CommandEvents.beginPermission() : null;
+        boolean hasPermission = this.permissionCache != null
+                ? this.permissionCache.hasPermission(player, perm.getName())
+                : player.hasPermission(perm.getName());
+        CommandEvents.commitPermission(event, command, perm.getName(), hasPermission);
 
-        boolean hasPermission = sender.hasPermission(perm.getName());
-        if(!sender.isPermissionSet(perm.getName())) {
-            this.consoleSender.sendMessage(String.format("%sThe permission [%s%s%s] was not set for [%s%s%s]",
-                    ChatColor.WHITE, ChatColor.RED, perm.getName(), ChatColor.WHITE,
-                    ChatColor.RED, player.getDisplayName(), ChatColor.WHITE));
-        }
-
-        if(hasPermission) {
-            this.consoleSender.sendMessage(String.format("Checking to see if player [%s] has permission [%s] : %sYES",
-                    player.getDisplayName(), perm.getName(),
-                    ChatColor.GREEN));
-        } else {
-            this.consoleSender.sendMessage(String.format("Checking to see if player [%s] has permission [%s] : %sNO",
-                    player.getDisplayName(), perm.getName(),
-                    ChatColor.RED));
+        int sampleRate = this.auditSampleRate;
+        if(audit && sampleRate > 0 && this.permissionChecks.incrementAndGet() % sampleRate == 0) {
+            this.auditPermission(player, perm.getName(), hasPermission);
         }
 
         return hasPermission;
     }
 
+    /**
+     * Log a permission check in the console, the message is built and written outside the main thread
+     *
+     * @param player        Player
+     * @param permission    Permission node
+     * @param hasPermission Result of the check
+     */
+    private void auditPermission(Player player, String permission, boolean hasPermission) {
+
+        String playerName = player.getName();
+        boolean isSet = player.isPermissionSet(permission);
+        Bukkit.getScheduler().runTaskAsynchronously(this.plugin, () -> {
+
+            if(!isSet) {
+                this.plugin.getLogger().info(String.format("The permission [%s] was not set for [%s]", permission, playerName));
+            }
+
+            this.plugin.getLogger().info(String.format("Checking to see if player [%s] has permission [%s] : %s",
+                    playerName, permission, hasPermission ? "YES" : "NO"));
+        });
+    }
+
 }
\ No newline at end of file
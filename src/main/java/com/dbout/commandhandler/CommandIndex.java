@@ -0,0 +1,239 @@
+package com.dbout.commandhandler;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * CommandIndex
+ * Prefix tree of the literal tokens of the command bases and aliases
+ * Commands can be added while other threads search, a command is visible once fully added
+ * https://github.com/dimitriBouteille/command-handler
+ *
+ * @author  Dimitri BOUTEILLE <bonjour@dimitri-bouteille.fr>
+ * @version 1.0
+ */
+public class CommandIndex {
+
+    /**
+     * Root node, its children are the first tokens of all commands
+     * ie: myCommand
+     */
+    private final Node root = new Node();
+
+    /**
+     * Index a command under each of its bases
+     *
+     * @param command   Command already initialized
+     */
+    public void add(Command command) {
+
+        for(String base : command.getAllBases()) {
+
+            Node node = this.root;
+            for(String token : base.trim().split("\\s+")) {
+                node = node.child(token);
+            }
+
+            node.add(command, base);
+        }
+    }
+
+    /**
+     * Search the command that matches the executed command
+     * The arguments are walked in place, the longest literal part is tested first
+     *
+     * @param label Command label
+     * @param args  Command arguments
+     * @return      Returns the match or null
+     */
+    public CommandMatch match(String label, String[] args) {
+
+        Node node = this.root.children.get(label);
+        return node == null ? null : node.match(args, 0);
+    }
+
+    /**
+     * Search the command whose help is requested
+     * ie : /myCommand ?
+     *
+     * @param label Command label
+     * @param args  Command arguments
+     * @return      Returns the command or null
+     */
+    public Command matchHelp(String label, String[] args) {
+
+        Node node = this.root.children.get(label);
+        return node == null ? null : node.matchHelp(args, 0);
+    }
+
+    /**
+     * Get the node of a command label
+     *
+     * @param label Command label
+     * @return      Returns the node or null if no command uses this label
+     */
+    Node getNode(String label) { return this.root.children.get(label); }
+
+    /**
+     * Node of the prefix tree
+     */
+    static class Node {
+
+        /**
+         * Next literal tokens
+         */
+        private final Map<String, Node> children = new ConcurrentHashMap<>();
+
+        /**
+         * Next literal tokens sorted without case, used by the completion
+         * Null when a child was added since the last sort
+         */
+        private volatile String[] sortedChildren = new String[0];
+
+        /**
+         * Commands whose base or alias ends on this node
+         */
+        private volatile Command[] commands = new Command[0];
+
+        /**
+         * Base or alias of each command of this node
+         * /!\ Written before commands and read after it, so it is never shorter than commands
+         */
+        private volatile String[] bases = new String[0];
+
+        /**
+         * Get or create the node of a next literal token
+         *
+         * @param token Literal token
+         * @return      Returns the child node
+         */
+        private Node child(String token) {
+
+            Node node = this.children.get(token);
+            if(node == null) {
+                node = new Node();
+                this.children.put(token, node);
+                this.sortedChildren = null;
+            }
+
+            return node;
+        }
+
+        /**
+         * @param token Literal token
+         * @return      Returns the node of a next literal token or null
+         */
+        Node getChild(String token) { return this.children.get(token); }
+
+        /**
+         * @return  Returns the next literal tokens sorted without case
+         */
+        String[] getSortedChildren() {
+
+            String[] sorted = this.sortedChildren;
+            if(sorted == null) {
+                sorted = this.children.keySet().toArray(new String[0]);
+                Arrays.sort(sorted, String.CASE_INSENSITIVE_ORDER);
+                this.sortedChildren = sorted;
+            }
+
+            return sorted;
+        }
+
+        /**
+         * @return  Returns the commands whose base or alias ends on this node
+         */
+        Command[] getCommands() { return this.commands; }
+
+        /**
+         * Add a command ending on this node
+         *
+         * @param command   Command
+         * @param base      Base or alias of the command
+         */
+        private void add(Command command, String base) {
+
+            for(Command cmd : this.commands) {
+                if(cmd == command) {
+                    return;
+                }
+            }
+
+            String[] nextBases = Arrays.copyOf(this.bases, this.bases.length + 1);
+            nextBases[nextBases.length - 1] = base;
+            this.bases = nextBases;
+
+            Command[] nextCommands = Arrays.copyOf(this.commands, this.commands.length + 1);
+            nextCommands[nextCommands.length - 1] = command;
+            this.commands = nextCommands;
+        }
+
+        /**
+         * A valid match is preferred to an invalid one, ie: an overload whose value types match
+         *
+         * @param args      Command arguments
+         * @param offset    Index of the first argument after this node
+         * @return          Returns the first valid match, else the first invalid match, else null
+         */
+        CommandMatch match(String[] args, int offset) {
+
+            // Longest literal part first
+            CommandMatch invalid = null;
+            if(offset < args.length) {
+                Node child = this.children.get(args[offset]);
+                if(child != null) {
+                    CommandMatch match = child.match(args, offset + 1);
+                    if(match != null && match.isValid()) {
+                        return match;
+                    }
+
+                    invalid = match;
+                }
+            }
+
+            Command[] commands = this.commands;
+            String[] bases = this.bases;
+            for(int i = 0; i < commands.length; i++) {
+                CommandMatch match = CommandEvents.recording
+                        ? CommandEvents.match(commands[i], bases[i], args, offset)
+                        : commands[i].match(bases[i], args, offset);
+                if(match != null && match.isValid()) {
+                    return match;
+                } else if(invalid == null) {
+                    invalid = match;
+                }
+            }
+
+            return invalid;
+        }
+
+        /**
+         * @param args      Command arguments
+         * @param offset    Index of the first argument after this node
+         * @return          Returns the command or null
+         */
+        Command matchHelp(String[] args, int offset) {
+
+            if(offset < args.length) {
+                Node child = this.children.get(args[offset]);
+                if(child != null) {
+                    Command command = child.matchHelp(args, offset + 1);
+                    if(command != null) {
+                        return command;
+                    }
+                }
+            }
+
+            for(Command command : this.commands) {
+                if(command.matchHelp(args, offset)) {
+                    return command;
+                }
+            }
+
+            return null;
+        }
+
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.dbout.commandhandler;
+
+import org.bukkit.command.CommandSender;
+
+/**
+ * CommandInterceptor
+ * Code run around execute(), after the sender type, the permission and the rate limit are checked
+ * ie: handler.addInterceptor(new RegionInterceptor(), command -> command.getCommandBase().startsWith("build"));
+ * https://github.com/dimitriBouteille/command-handler
+ *
+ * @author  Dimitri BOUTEILLE <bonjour@dimitri-bouteille.fr>
+ * @version 1.0
+ */
+public interface CommandInterceptor {
+
+    /**
+     * Called on the main thread before execute(), in the order the interceptors were added
+     *
+     * @param command       Command that matches
+     * @param sender        Sender
+     * @param parameters    Parameters found in the executed command
+     * @return              Returns false to stop the command, the next interceptors and execute() are not called
+     */
+    default boolean preHandle(Command command, CommandSender sender, CommandParameters parameters) { return true; }
+
+    /**
+     * Called in reverse order for each interceptor whose preHandle() returned true,
+     * after execute() or after another interceptor stopped the command
+     * For an asynchronous command, it is called on the thread of execute()
+     *
+     * @param command       Command that matches
+     * @param sender        Sender
+     * @param parameters    Parameters found in the executed command
+     * @param error         Exception thrown by execute() or null
+     */
+    default void postHandle(Command command, CommandSender sender, CommandParameters parameters, Throwable error) {}
+
+}
@@ -0,0 +1,93 @@
+package com.dbout.commandhandler;
+
+/**
+ * CommandMatch
+ * Result of a command that matches an executed command
+ * https://github.com/dimitriBouteille/command-handler
+ *
+ * @author  Dimitri BOUTEILLE <bonjour@dimitri-bouteille.fr>
+ * @version 1.0
+ */
+public final class CommandMatch {
+
+    /**
+     * Command that matches
+     */
+    private final Command command;
+
+    /**
+     * Command base or alias used in the executed command
+     * ie: myCommand
+     */
+    private final String base;
+
+    /**
+     * Parameters found in the executed command
+     */
+    private final CommandParameters parameters;
+
+    /**
+     * Error message if a parameter value was rejected, null otherwise
+     * ie: The player [Steve] is not online.
+     */
+    private final String error;
+
+    /**
+     * Constructor
+     *
+     * @param command       Command that matches
+     * @param base          Command base or alias used
+     * @param parameters    Parameters found in the executed command
+     */
+    public CommandMatch(Command command, String base, CommandParameters parameters) {
+
+        this(command, base, parameters, null);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param command       Command that matches
+     * @param base          Command base or alias used
+     * @param parameters    Parameters found in the executed command, null if a value was rejected
+     * @param error         Error message if a value was rejected
+     */
+    public CommandMatch(Command command, String base, CommandParameters parameters, String error) {
+
+        this.command = command;
+        this.base = base;
+        this.parameters = parameters;
+        this.error = error;
+    }
+
+    /**
+     * @return  Returns the command that matches
+     */
+    public Command getCommand() { return this.command; }
+
+    /**
+     * @return  Returns the command base or alias used
+     */
+    public String getBase() { return this.base; }
+
+    /**
+     * @return  Returns the parameters found in the executed command
+     */
+    public CommandParameters getParameters() { return this.parameters; }
+
+    /**
+     * @return  Returns the error message if a parameter value was rejected or null
+     */
+    public String getError() { return this.error; }
+
+    /**
+     * @return  Returns true if all parameter values were parsed
+     */
+    public boolean isValid() { return this.error == null; }
+
+    /**
+     * @return  Returns true if the executed command used an alias
+     */
+    public boolean isAlias() { return !this.base.equals(this.command.getCommandBase()); }
+
+}
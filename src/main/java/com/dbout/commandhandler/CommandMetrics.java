@@ -0,0 +1,138 @@
+package com.dbout.commandhandler;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * CommandMetrics
+ * Counters and durations of a command, recorded by the handler
+ * https://github.com/dimitriBouteille/command-handler
+ *
+ * @author  Dimitri BOUTEILLE <bonjour@dimitri-bouteille.fr>
+ * @version 1.0
+ */
+public class CommandMetrics {
+
+    /**
+     * Number of times the command matched an executed command
+     */
+    private final LongAdder matches = new LongAdder();
+
+    /**
+     * Number of help requests
+     * ie: /myCommand ?
+     */
+    private final LongAdder helpRequests = new LongAdder();
+
+    /**
+     * Number of executions refused because of the sender type
+     */
+    private final LongAdder senderRejections = new LongAdder();
+
+    /**
+     * Number of executions refused because of the permission
+     */
+    private final LongAdder permissionDenials = new LongAdder();
+
+    /**
+     * Number of executions refused by the cooldown or the rate limit
+     */
+    private final LongAdder rateLimited = new LongAdder();
+
+    /**
+     * Duration of the search of the command
+     */
+    private final LatencyHistogram matchLatency = new LatencyHistogram();
+
+    /**
+     * Duration of execute()
+     */
+    private final LatencyHistogram executeLatency = new LatencyHistogram();
+
+    /**
+     * @return  Returns the number of times the command matched an executed command
+     */
+    public long getMatches() { return this.matches.sum(); }
+
+    /**
+     * @return  Returns the number of help requests
+     */
+    public long getHelpRequests() { return this.helpRequests.sum(); }
+
+    /**
+     * @return  Returns the number of executions refused because of the sender type
+     */
+    public long getSenderRejections() { return this.senderRejections.sum(); }
+
+    /**
+     * @return  Returns the number of executions refused because of the permission
+     */
+    public long getPermissionDenials() { return this.permissionDenials.sum(); }
+
+    /**
+     * @return  Returns the number of executions refused by the cooldown or the rate limit
+     */
+    public long getRateLimited() { return this.rateLimited.sum(); }
+
+    /**
+     * @return  Returns the durations of the search of the command
+     */
+    public LatencyHistogram getMatchLatency() { return this.matchLatency; }
+
+    /**
+     * @return  Returns the durations of execute()
+     */
+    public LatencyHistogram getExecuteLatency() { return this.executeLatency; }
+
+    /**
+     * Remove all counters and durations
+     */
+    public void reset() {
+
+        this.matches.reset();
+        this.helpRequests.reset();
+        this.senderRejections.reset();
+        this.permissionDenials.reset();
+        this.rateLimited.reset();
+        this.matchLatency.reset();
+        this.executeLatency.reset();
+    }
+
+    /**
+     * @param nanos Duration of the search of the command
+     */
+    void recordMatch(long nanos) {
+
+        this.matches.increment();
+        this.matchLatency.record(nanos);
+    }
+
+    /**
+     * @param nanos Duration of the search of the command
+     */
+    void recordHelpRequest(long nanos) {
+
+        this.helpRequests.increment();
+        this.matchLatency.record(nanos);
+    }
+
+    /**
+     * Count an execution refused because of the sender type
+     */
+    void recordSenderRejection() { this.senderRejections.increment(); }
+
+    /**
+     * Count an execution refused because of the permission
+     */
+    void recordPermissionDenial() { this.permissionDenials.increment(); }
+
+    /**
+     * Count an execution refused by the cooldown or the rate limit
+     */
+    void recordRateLimited() { this.rateLimited.increment(); }
+
+    /**
+     * @param nanos Duration of execute()
+     */
+    void recordExecution(long nanos) { this.executeLatency.record(nanos); }
+
+}
@@ -1,5 +1,10 @@
 package com.dbout.commandhandler;
 
+import com.dbout.commandhandler.matchers.AnyMatcher;
+import com.dbout.commandhandler.matchers.EnumMatcher;
+import com.dbout.commandhandler.matchers.ParameterMatcher;
+import com.dbout.commandhandler.matchers.PatternMatcher;
+
 /**
  * CommandParameter
  * https://github.com/dimitriBouteille/command-handler
@@ -24,21 +29,112 @@ public class CommandParameter {
     private int position;
 
     /**
-     * Regex validation
-     * ie: [\w]+
+     * Parameter type
+     * ie: ParameterType.INT
+     */
+    private ParameterType type;
+
+    /**
+     * Token validation
+     * ie: WordMatcher
+     */
+    private ParameterMatcher matcher;
+
+    /**
+     * Pattern that the whole token must also match, null for no pattern
+     * ie: :code([a-z]{3})
+     */
+    private PatternMatcher pattern;
+
+    /**
+     * If true, the parameter can be omitted
+     * ie: [:amount<int>=1]
+     */
+    private boolean optional = false;
+
+    /**
+     * Token used when the optional parameter is omitted, null for no value
+     */
+    private String defaultValue;
+
+    /**
+     * If true, the parameter takes the rest of the command
+     * ie: :message...
+     */
+    private boolean greedy = false;
+
+    /**
+     * Constructor
+     *
+     * @param parameterName Parameter name
+     * @param position      Parameter position
+     * @param type          Parameter type, other than ParameterType.ENUM
+     */
+    public CommandParameter(String parameterName, int position, ParameterType type) {
+
+        this(parameterName, position, type, type.getMatcher());
+    }
+
+    /**
+     * Constructor of an enum parameter
+     *
+     * @param parameterName Parameter name
+     * @param position      Parameter position
+     * @param enumType      Enum class
      */
-    private String regex = "[\\w]+";
+    public CommandParameter(String parameterName, int position, Class<? extends Enum<?>> enumType) {
+
+        this(parameterName, position, ParameterType.ENUM, new EnumMatcher(enumType));
+    }
 
     /**
      * Constructor
      *
      * @param parameterName Parameter name
      * @param position      Parameter position
+     * @param type          Parameter type
+     * @param matcher       Token validation
      */
-    public CommandParameter(String parameterName, int position) {
+    private CommandParameter(String parameterName, int position, ParameterType type, ParameterMatcher matcher) {
 
         this.name = parameterName;
         this.position = position;
+        this.type = type;
+        this.matcher = matcher;
+    }
+
+    /**
+     * Set the pattern that the whole token must also match
+     * The pattern of a word parameter replaces the word check, ie: :name([a-z-]+)
+     *
+     * @param pattern   Compiled pattern
+     */
+    void setPattern(PatternMatcher pattern) {
+
+        this.pattern = pattern;
+        if(this.type == ParameterType.WORD) {
+            this.matcher = AnyMatcher.INSTANCE;
+        }
+    }
+
+    /**
+     * Set that the parameter can be omitted
+     *
+     * @param defaultValue  Token used when the parameter is omitted, null for no value
+     */
+    void setOptional(String defaultValue) {
+
+        this.optional = true;
+        this.defaultValue = defaultValue;
+    }
+
+    /**
+     * Set that the parameter takes the rest of the command, the tokens are joined with a space
+     */
+    void setGreedy() {
+
+        this.greedy = true;
+        this.matcher = AnyMatcher.INSTANCE;
     }
 
     /**
@@ -47,13 +143,49 @@ public class CommandParameter {
     public String getName() { return this.name; }
 
     /**
-     * @return  Get regex
+     * @return  Get parameter type
      */
-    public String getRegex() { return this.regex; }
+    public ParameterType getType() { return this.type; }
+
+    /**
+     * @return  Get token validation
+     */
+    public ParameterMatcher getMatcher() { return this.matcher; }
+
+    /**
+     * @return  Get the pattern that the token must also match or null
+     */
+    public PatternMatcher getPattern() { return this.pattern; }
+
+    /**
+     * Checks a token against the type and the pattern of the parameter
+     *
+     * @param token Token of the executed command
+     * @return      Returns true if the token is a valid value
+     */
+    public boolean matches(String token) {
+
+        return this.matcher.matches(token) && (this.pattern == null || this.pattern.matches(token));
+    }
 
     /**
      * @return  Get parameter position
      */
     public int getPosition() { return this.position; }
 
+    /**
+     * @return  Returns true if the parameter can be omitted
+     */
+    public boolean isOptional() { return this.optional; }
+
+    /**
+     * @return  Returns the token used when the parameter is omitted or null
+     */
+    public String getDefaultValue() { return this.defaultValue; }
+
+    /**
+     * @return  Returns true if the parameter takes the rest of the command
+     */
+    public boolean isGreedy() { return this.greedy; }
+
 }
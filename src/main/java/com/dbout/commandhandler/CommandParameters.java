@@ -1,18 +1,329 @@
 package com.dbout.commandhandler;
 
+import com.dbout.commandhandler.matchers.BooleanMatcher;
+import com.dbout.commandhandler.matchers.EnumMatcher;
 import org.bukkit.Bukkit;
 import org.bukkit.World;
 import org.bukkit.entity.Player;
-import java.util.HashMap;
+import java.util.UUID;
 
 /**
  * CommandParameters
+ * Values are parsed once when the command matches and stored by position
  * https://github.com/dimitriBouteille/command-handler
  *
  * @author  Dimitri BOUTEILLE <bonjour@dimitri-bouteille.fr>
  * @version 1.0
  */
-public class CommandParameters extends HashMap<String, String> {
+public class CommandParameters {
+
+    /**
+     * Parameters of the command, shared by all matches
+     */
+    private final CommandParameter[] definitions;
+
+    /**
+     * Tokens of the executed command
+     */
+    private final String[] values;
+
+    /**
+     * Parsed values of the int, long, double and boolean parameters
+     * A double is stored with Double.doubleToRawLongBits()
+     */
+    private final long[] primitives;
+
+    /**
+     * Parsed values of the uuid, player, world and enum parameters
+     * Also the player or world resolved by a getter from a parameter of another type
+     */
+    private final Object[] objects;
+
+    /**
+     * Index of the players and worlds, null to use the Bukkit API
+     */
+    private final NameResolver resolver;
+
+    /**
+     * Constructor
+     *
+     * @param definitions   Parameters of the command
+     */
+    public CommandParameters(CommandParameter[] definitions) {
+
+        this(definitions, null);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param definitions   Parameters of the command
+     * @param resolver      Index of the players and worlds, null to use the Bukkit API
+     */
+    public CommandParameters(CommandParameter[] definitions, NameResolver resolver) {
+
+        this.definitions = definitions;
+        this.resolver = resolver;
+        this.values = new String[definitions.length];
+        this.primitives = new long[definitions.length];
+        this.objects = new Object[definitions.length];
+    }
+
+    /**
+     * Parse and store the value of a parameter
+     * The token must already match the parameter matcher
+     *
+     * @param index Parameter index, first index is 0
+     * @param token Token of the executed command
+     * @return      Returns false if the value does not exist (ie: offline player) or true
+     */
+    public boolean parse(int index, String token) {
+
+        CommandParameter parameter = this.definitions[index];
+        this.values[index] = token;
+
+        switch (parameter.getType()) {
+            case INT:
+            case LONG:
+                this.primitives[index] = Long.parseLong(token);
+                return true;
+            case DOUBLE:
+                this.primitives[index] = Double.doubleToRawLongBits(Double.parseDouble(token));
+                return true;
+            case BOOLEAN:
+                this.primitives[index] = BooleanMatcher.isTrue(token) ? 1 : 0;
+                return true;
+            case UUID:
+                this.objects[index] = java.util.UUID.fromString(token);
+                return true;
+            case PLAYER:
+                this.objects[index] = this.resolvePlayer(token);
+                return this.objects[index] != null;
+            case WORLD:
+                this.objects[index] = this.resolveWorld(token);
+                return this.objects[index] != null;
+            case ENUM:
+                this.objects[index] = ((EnumMatcher)parameter.getMatcher()).find(token);
+                return this.objects[index] != null;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * @param name  Player name or start of the name
+     * @return      Returns the online player or null
+     */
+    private Player resolvePlayer(String name) {
+
+        return this.resolver != null ? this.resolver.getPlayer(name) : Bukkit.getPlayer(name);
+    }
+
+    /**
+     * @param name  World name
+     * @return      Returns the loaded world or null
+     */
+    private World resolveWorld(String name) {
+
+        return this.resolver != null ? this.resolver.getWorld(name) : Bukkit.getWorld(name);
+    }
+
+    /**
+     * @return  Returns the number of parameters
+     */
+    public int size() { return this.definitions.length; }
+
+    /**
+     * @param index Parameter index, first index is 0
+     * @return      Returns the definition of the parameter
+     */
+    CommandParameter getDefinition(int index) { return this.definitions[index]; }
+
+    /**
+     * Search the index of a parameter
+     *
+     * @param parameterName Parameter name
+     * @return              Returns the index or -1 if the parameter does not exist
+     */
+    public int indexOf(String parameterName) {
+
+        for(int i = 0; i < this.definitions.length; i++) {
+            if(this.definitions[i].getName().equals(parameterName)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * @param index Parameter index, first index is 0
+     * @return      Returns false if the optional parameter was omitted and has no default value
+     */
+    public boolean isPresent(int index) { return this.values[index] != null; }
+
+    /**
+     * @param parameterName Parameter name
+     * @return              Returns true if the parameter exists and has a value
+     */
+    public boolean isPresent(String parameterName) { return this.indexOfValue(parameterName) >= 0; }
+
+    /**
+     * @param parameterName Parameter name
+     * @return              Returns the index or -1 if the parameter does not exist or has no value
+     */
+    private int indexOfValue(String parameterName) {
+
+        int index = this.indexOf(parameterName);
+        return index >= 0 && this.values[index] != null ? index : -1;
+    }
+
+    /**
+     * @param index Parameter index, first index is 0
+     * @return      Returns the token of the executed command, null if the parameter was omitted
+     */
+    public String getString(int index) { return this.values[index]; }
+
+    /**
+     * @param index Parameter index, first index is 0
+     * @return      Returns a int type value, 0 if an int parameter was omitted
+     * @throws NumberFormatException    Exception if the parameter is not a number or is outside the int range
+     */
+    public int getInt(int index) {
+
+        long value = this.getLong(index);
+        if(value != (int)value) {
+            throw new NumberFormatException(String.format("The value [%s] of the parameter [%s] is outside the int range.",
+                    this.values[index], this.definitions[index].getName()));
+        }
+
+        return (int)value;
+    }
+
+    /**
+     * @param index Parameter index, first index is 0
+     * @return      Returns a long type value, 0 if a long parameter was omitted
+     * @throws NumberFormatException    Exception if the parameter is not a number
+     */
+    public long getLong(int index) {
+
+        ParameterType type = this.definitions[index].getType();
+        if(type == ParameterType.INT || type == ParameterType.LONG) {
+            return this.primitives[index];
+        }
+
+        return Long.parseLong(this.values[index]);
+    }
+
+    /**
+     * @param index Parameter index, first index is 0
+     * @return      Returns a double type value
+     * @throws NumberFormatException    Exception if the parameter is not a number
+     */
+    public double getDouble(int index) {
+
+        ParameterType type = this.definitions[index].getType();
+        if(type == ParameterType.DOUBLE) {
+            return Double.longBitsToDouble(this.primitives[index]);
+        } else if(type == ParameterType.INT || type == ParameterType.LONG) {
+            return this.primitives[index];
+        }
+
+        return Double.parseDouble(this.values[index]);
+    }
+
+    /**
+     * @param index Parameter index, first index is 0
+     * @return      Returns a boolean type value
+     */
+    public boolean getBoolean(int index) {
+
+        if(this.definitions[index].getType() == ParameterType.BOOLEAN || this.values[index] == null) {
+            return this.primitives[index] == 1;
+        }
+
+        return BooleanMatcher.isTrue(this.values[index]);
+    }
+
+    /**
+     * @param index Parameter index, first index is 0
+     * @return      Returns a UUID or null if the parameter is not a UUID
+     */
+    public UUID getUniqueId(int index) {
+
+        if(this.definitions[index].getType() == ParameterType.UUID || this.values[index] == null) {
+            return (UUID)this.objects[index];
+        }
+
+        try {
+            return java.util.UUID.fromString(this.values[index]);
+        } catch (IllegalArgumentException e) {}
+
+        return null;
+    }
+
+    /**
+     * The player is resolved once, the next calls return the same player
+     *
+     * @param index Parameter index, first index is 0
+     * @return      Returns a Player object if the player exists
+     */
+    public Player getPlayer(int index) {
+
+        Object value = this.objects[index];
+        if(value instanceof Player || this.definitions[index].getType() == ParameterType.PLAYER || this.values[index] == null) {
+            return value instanceof Player ? (Player)value : null;
+        }
+
+        Player player = this.resolvePlayer(this.values[index]);
+        if(value == null) {
+            this.objects[index] = player;
+        }
+
+        return player;
+    }
+
+    /**
+     * The world is resolved once, the next calls return the same world
+     *
+     * @param index Parameter index, first index is 0
+     * @return      Returns a World object if the world exists
+     */
+    public World getWorld(int index) {
+
+        Object value = this.objects[index];
+        if(value instanceof World || this.definitions[index].getType() == ParameterType.WORLD || this.values[index] == null) {
+            return value instanceof World ? (World)value : null;
+        }
+
+        World world = this.resolveWorld(this.values[index]);
+        if(value == null) {
+            this.objects[index] = world;
+        }
+
+        return world;
+    }
+
+    /**
+     * @param index     Parameter index, first index is 0
+     * @param enumType  Enum class
+     * @param <E>       Enum type
+     * @return          Returns the enum constant or null if it does not exist
+     */
+    public <E extends Enum<E>> E getEnum(int index, Class<E> enumType) {
+
+        if(this.definitions[index].getType() == ParameterType.ENUM || this.values[index] == null) {
+            return enumType.cast(this.objects[index]);
+        }
+
+        for(E constant : enumType.getEnumConstants()) {
+            if(constant.name().equalsIgnoreCase(this.values[index])) {
+                return constant;
+            }
+        }
+
+        return null;
+    }
 
     /**
      * @see #getString(String)
@@ -33,11 +344,8 @@ public class CommandParameters extends HashMap<String, String> {
      */
     public String getString(String parameterName) {
 
-        if(this.paramExist(parameterName)) {
-            return this.get(parameterName);
-        }
-
-        return null;
+        int index = this.indexOf(parameterName);
+        return index < 0 ? null : this.values[index];
     }
 
     /**
@@ -46,9 +354,24 @@ public class CommandParameters extends HashMap<String, String> {
      */
     public Integer getInt(String parameterName) {
 
-        if(this.paramExist(parameterName)) {
+        Long value = this.getLong(parameterName);
+        if(value == null || value != value.intValue()) {
+            return null;
+        }
+
+        return value.intValue();
+    }
+
+    /**
+     * @param parameterName Parameter name
+     * @return              Returns a long type value
+     */
+    public Long getLong(String parameterName) {
+
+        int index = this.indexOfValue(parameterName);
+        if(index >= 0) {
             try {
-                return Integer.parseInt(this.get(parameterName));
+                return this.getLong(index);
             } catch (NumberFormatException e) {}
         }
 
@@ -61,15 +384,10 @@ public class CommandParameters extends HashMap<String, String> {
      */
     public Double getDouble(String parameterName) {
 
-        if(this.paramExist(parameterName)) {
+        int index = this.indexOfValue(parameterName);
+        if(index >= 0) {
             try {
-
-                double x = Double.parseDouble(this.get(parameterName));
-                if(x == (int)x) {
-                    return null;
-                }
-
-                return x;
+                return this.getDouble(index);
             } catch (NumberFormatException e) {}
         }
 
@@ -78,17 +396,32 @@ public class CommandParameters extends HashMap<String, String> {
 
     /**
      * @param parameterName Parameter name
-     * @return              Returns a Player object if the player exists
+     * @return              Returns a boolean type value
      */
-    public Player getPlayer(String parameterName) {
+    public Boolean getBoolean(String parameterName) {
 
-        if(this.paramExist(parameterName)) {
+        int index = this.indexOfValue(parameterName);
+        return index < 0 ? null : this.getBoolean(index);
+    }
 
-            return Bukkit.getPlayer(this.get(parameterName));
-        }
+    /**
+     * @param parameterName Parameter name
+     * @return              Returns a UUID if the parameter is a UUID
+     */
+    public UUID getUniqueId(String parameterName) {
 
+        int index = this.indexOfValue(parameterName);
+        return index < 0 ? null : this.getUniqueId(index);
+    }
 
-        return null;
+    /**
+     * @param parameterName Parameter name
+     * @return              Returns a Player object if the player exists
+     */
+    public Player getPlayer(String parameterName) {
+
+        int index = this.indexOfValue(parameterName);
+        return index < 0 ? null : this.getPlayer(index);
     }
 
     /**
@@ -97,12 +430,20 @@ public class CommandParameters extends HashMap<String, String> {
      */
     public World getWorld(String parameterName) {
 
-        if(this.paramExist(parameterName)) {
+        int index = this.indexOfValue(parameterName);
+        return index < 0 ? null : this.getWorld(index);
+    }
 
-            return Bukkit.getWorld(this.get(parameterName));
-        }
+    /**
+     * @param parameterName Parameter name
+     * @param enumType      Enum class
+     * @param <E>           Enum type
+     * @return              Returns the enum constant if it exists
+     */
+    public <E extends Enum<E>> E getEnum(String parameterName, Class<E> enumType) {
 
-        return  null;
+        int index = this.indexOfValue(parameterName);
+        return index < 0 ? null : this.getEnum(index, enumType);
     }
 
     /**
@@ -111,9 +452,27 @@ public class CommandParameters extends HashMap<String, String> {
      * @param paramName Parameter name
      * @return          Returns true if the parameter exists or false
      */
-    private boolean paramExist(String paramName) {
+    public boolean containsKey(String paramName) {
+
+        return this.indexOf(paramName) >= 0;
+    }
+
+    /**
+     * @return  Returns the parameters as name=value
+     */
+    @Override
+    public String toString() {
+
+        StringBuilder builder = new StringBuilder("{");
+        for(int i = 0; i < this.definitions.length; i++) {
+            if(i > 0) {
+                builder.append(", ");
+            }
+
+            builder.append(this.definitions[i].getName()).append('=').append(this.values[i]);
+        }
 
-        return this.containsKey(paramName);
+        return builder.append('}').toString();
     }
 
-}
\ No newline at end of file
+}
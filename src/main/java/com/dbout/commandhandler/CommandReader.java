@@ -2,11 +2,9 @@ package com.dbout.commandhandler;
 
 import com.dbout.commandhandler.exceptions.*;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * CommandReader
@@ -32,7 +30,7 @@ public class CommandReader {
     /**
      * List of command parameters
      */
-    private Map<String, CommandParameter> parameters = new HashMap<>();
+    private Map<String, CommandParameter> parameters = new LinkedHashMap<>();
 
     /**
      * Constructor
@@ -51,32 +49,53 @@ public class CommandReader {
      */
     public void read() throws CommandHandlerException {
 
-        // Check if command matching with :
-        // - myCommand
-        // - myCommand :param1
-        // - myCommand :param1 :param2
-        // ...
-        Matcher validCmd = Pattern.compile("^([\\w\\s]+)( ?:[\\w]+)*$").matcher(this.command);
-        if(!validCmd.find()) {
-            throw new CommandInvalidFormat(String.format("The command [%s] is invalid.", this.command));
-        }
+        this.read(CommandReader.class.getClassLoader());
+    }
+
+    /**
+     * Reads the command to extract the command parameters
+     * The grammar is read by CommandSyntax, the types are resolved here
+     *
+     * @param classLoader   Class loader of the enum types
+     * @throws CommandHandlerException  Exception if the command is invalid or if a parameter already exists in the command
+     */
+    public void read(ClassLoader classLoader) throws CommandHandlerException {
+
+        CommandSyntax syntax = CommandSyntax.parse(this.command);
 
         // Get fixed part of command
-        this.commandBase = validCmd.group(1).trim();
+        this.readBase();
+        this.parameters.clear();
+        for(CommandSyntax.Parameter parameter : syntax.getParameters()) {
+            this.parameters.put(parameter.getName(), this.createParameter(parameter, classLoader));
+        }
+    }
 
-        // Search all parameters ':param'
-        Matcher m = Pattern.compile(":[\\w]+").matcher(this.command);
-        int position = 1;
-        while (m.find()) {
+    /**
+     * Reads only the fixed part of the command, the parameters are not validated
+     * Used to index a command before read()
+     *
+     * @throws CommandInvalidFormat Exception if the command has no fixed part
+     */
+    public void readBase() throws CommandInvalidFormat {
 
-            String paramName = this.substringFirstCharacter(m.group(), ":");
-            if(this.parameters.containsKey(paramName)) {
-                throw new ParameterAlreadyExist(m.group(), this.command);
-            }
+        int end = this.command.length();
+        int parameter = this.command.indexOf(':');
+        int optional = this.command.indexOf('[');
+        if(parameter >= 0) {
+            end = parameter;
+        }
 
-            this.parameters.put(paramName, new CommandParameter(paramName,position));
-            position++;
+        if(optional >= 0 && optional < end) {
+            end = optional;
         }
+
+        String base = this.command.substring(0, end).trim();
+        if(base.isEmpty()) {
+            throw new CommandInvalidFormat(String.format("The command [%s] is invalid.", this.command));
+        }
+
+        this.commandBase = base;
     }
 
     /**
@@ -94,6 +113,39 @@ public class CommandReader {
      */
     public List<CommandParameter> getParameters() { return new ArrayList<>(this.parameters.values()); }
 
+    /**
+     * Create a parameter from its type
+     *
+     * @param parameter     Parameter read by CommandSyntax
+     * @param classLoader   Class loader of the enum types
+     * @return              Returns the parameter
+     * @throws CommandInvalidFormat Exception if the type is unknown or if the default value is invalid
+     */
+    @SuppressWarnings("unchecked")
+    private CommandParameter createParameter(CommandSyntax.Parameter parameter, ClassLoader classLoader) throws CommandInvalidFormat {
+
+        String type = parameter.getType();
+        if(type == null) {
+            return parameter.create(ParameterType.WORD);
+        }
+
+        ParameterType parameterType = ParameterType.fromName(type);
+        if(parameterType != null) {
+            return parameter.create(parameterType);
+        }
+
+        // Not a known type, it must be an enum class
+        try {
+            Class<?> enumType = Class.forName(type, true, classLoader);
+            if(enumType.isEnum()) {
+                return parameter.create((Class<? extends Enum<?>>) enumType);
+            }
+        } catch (ClassNotFoundException e) {}
+
+        throw new CommandInvalidFormat(String.format("The parameter type [%s] of the command [%s] is unknown.",
+                type, this.command));
+    }
+
     /**
      * Removes the first character of a string
      *
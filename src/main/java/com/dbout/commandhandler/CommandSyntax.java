@@ -0,0 +1,391 @@
+package com.dbout.commandhandler;
+
+import com.dbout.commandhandler.exceptions.CommandHandlerException;
+import com.dbout.commandhandler.exceptions.CommandInvalidFormat;
+import com.dbout.commandhandler.exceptions.ParameterAlreadyExist;
+import com.dbout.commandhandler.matchers.PatternMatcher;
+import com.dbout.commandhandler.matchers.WordMatcher;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * CommandSyntax
+ * Grammar of a command, read by CommandReader at runtime and by the annotation processor at compile time
+ * The types are not resolved here, an enum type is only known by its class name
+ * https://github.com/dimitriBouteille/command-handler
+ *
+ * @author  Dimitri BOUTEILLE <bonjour@dimitri-bouteille.fr>
+ * @version 1.0
+ */
+public final class CommandSyntax {
+
+    /**
+     * Suffix of a parameter that takes the rest of the command
+     * ie: :message...
+     */
+    public static final String GREEDY_SUFFIX = "...";
+
+    /**
+     * Command
+     */
+    private final String command;
+
+    /**
+     * Parameters in order
+     */
+    private final List<Parameter> parameters;
+
+    private CommandSyntax(String command, List<Parameter> parameters) {
+
+        this.command = command;
+        this.parameters = Collections.unmodifiableList(parameters);
+    }
+
+    /**
+     * Reads a command in one pass from left to right, without regular expression
+     *
+     * Valid commands:
+     * - myCommand
+     * - myCommand :param1 :param2
+     * - myCommand :param1<int> :param2<org.bukkit.GameMode>
+     * - myCommand :param1 [:param2<int>=1] [:param3]
+     * - myCommand :param1 :param2...
+     * - myCommand :param1([a-z]+) :param2<int>(\d{3})
+     *
+     * @param command   Command without the leading /
+     * @return          Returns the syntax of the command
+     * @throws CommandHandlerException  Exception if the command is invalid or if a parameter already exists in the command
+     */
+    public static CommandSyntax parse(String command) throws CommandHandlerException {
+
+        String[] tokens = command.trim().split("\\s+");
+        int first = 0;
+        while (first < tokens.length && !CommandSyntax.isParameter(tokens[first])) {
+            if(!WordMatcher.INSTANCE.matches(tokens[first])) {
+                throw CommandSyntax.invalid("The literal [%s] of the command [%s] is invalid.", tokens[first], command);
+            }
+
+            first++;
+        }
+
+        if(first == 0) {
+            throw new CommandInvalidFormat(String.format("The command [%s] is invalid.", command));
+        }
+
+        // Parameters ':param', ':param<type>', ':param<type>(pattern)', '[:param<type>=default]' or ':param...'
+        List<Parameter> parameters = new ArrayList<>();
+        boolean optional = false;
+        for(int i = first; i < tokens.length; i++) {
+
+            if(!CommandSyntax.isParameter(tokens[i])) {
+                throw CommandSyntax.invalid("The literal [%s] of the command [%s] must be before the parameters.", tokens[i], command);
+            }
+
+            Parameter parameter = CommandSyntax.readParameter(tokens[i], i - first + 1, command);
+            for(Parameter previous : parameters) {
+                if(previous.name.equals(parameter.name)) {
+                    throw new ParameterAlreadyExist(":" + parameter.name, command);
+                }
+            }
+
+            if(parameter.greedy && i != tokens.length - 1) {
+                throw CommandSyntax.invalid("The parameter [%s] of the command [%s] takes the rest of the command, it must be the last one.", tokens[i], command);
+            }
+
+            if(optional && !parameter.optional) {
+                throw CommandSyntax.invalid("The parameter [%s] of the command [%s] can't follow an optional parameter.", tokens[i], command);
+            }
+
+            optional = parameter.optional;
+            parameters.add(parameter);
+        }
+
+        return new CommandSyntax(command, parameters);
+    }
+
+    /**
+     * @return  Returns the command
+     */
+    public String getCommand() { return this.command; }
+
+    /**
+     * @return  Returns the parameters in order
+     */
+    public List<Parameter> getParameters() { return this.parameters; }
+
+    /**
+     * @param token Token of the command
+     * @return      Returns true if the token is a parameter
+     */
+    private static boolean isParameter(String token) { return token.startsWith(":") || token.startsWith("["); }
+
+    /**
+     * Read a parameter
+     * ie: :param, :param<int>, [:param<int>=1], :param...
+     *
+     * @param token     Token of the command
+     * @param position  Parameter position
+     * @param command   Command
+     * @return          Returns the parameter
+     * @throws CommandInvalidFormat Exception if the parameter is invalid
+     */
+    private static Parameter readParameter(String token, int position, String command) throws CommandInvalidFormat {
+
+        boolean optional = token.startsWith("[");
+        String body = token;
+        if(optional) {
+            if(!token.endsWith("]") || token.length() < 3) {
+                throw CommandSyntax.invalid("The optional parameter [%s] of the command [%s] must be closed by ].", token, command);
+            }
+
+            body = token.substring(1, token.length() - 1);
+        }
+
+        if(!body.startsWith(":")) {
+            throw CommandSyntax.invalid("The parameter [%s] of the command [%s] must start with :.", token, command);
+        }
+
+        // Name
+        int i = 1;
+        while (i < body.length() && WordMatcher.isWordCharacter(body.charAt(i))) {
+            i++;
+        }
+
+        String name = body.substring(1, i);
+        if(name.isEmpty()) {
+            throw CommandSyntax.invalid("The parameter [%s] of the command [%s] has no name.", token, command);
+        }
+
+        // Type
+        String type = null;
+        if(i < body.length() && body.charAt(i) == '<') {
+            int end = body.indexOf('>', i);
+            if(end < 0 || !CommandSyntax.isTypeName(body, i + 1, end)) {
+                throw CommandSyntax.invalid("The type of the parameter [%s] of the command [%s] is invalid.", token, command);
+            }
+
+            type = body.substring(i + 1, end);
+            i = end + 1;
+        }
+
+        // Pattern, compiled once into a matcher whose time is linear in the token length
+        PatternMatcher pattern = null;
+        if(i < body.length() && body.charAt(i) == '(') {
+            int end = CommandSyntax.findPatternEnd(body, i);
+            if(end < 0) {
+                throw CommandSyntax.invalid("The pattern of the parameter [%s] of the command [%s] must be closed by ).", token, command);
+            }
+
+            try {
+                pattern = new PatternMatcher(body.substring(i + 1, end));
+            } catch (IllegalArgumentException e) {
+                throw new CommandInvalidFormat(String.format("The parameter [%s] of the command [%s] is invalid: %s",
+                        token, command, e.getMessage()));
+            }
+
+            i = end + 1;
+        }
+
+        String rest = body.substring(i);
+        String defaultValue = null;
+        boolean greedy = false;
+        if(rest.equals(GREEDY_SUFFIX) && !optional && type == null && pattern == null) {
+            greedy = true;
+        } else if(rest.startsWith("=") && rest.length() > 1 && optional) {
+            defaultValue = rest.substring(1);
+        } else if(!rest.isEmpty()) {
+            throw CommandSyntax.invalid("The parameter [%s] of the command [%s] is invalid.", token, command);
+        }
+
+        return new Parameter(command, token, name, position, type, pattern, optional, defaultValue, greedy);
+    }
+
+    /**
+     * Search the ) that closes a pattern, the parentheses in a class [...] or escaped are skipped
+     *
+     * @param body  Parameter
+     * @param start Index of the opening (
+     * @return      Returns the index of the closing ) or -1
+     */
+    private static int findPatternEnd(String body, int start) {
+
+        int depth = 0;
+        boolean inClass = false;
+        for(int i = start; i < body.length(); i++) {
+
+            char c = body.charAt(i);
+            if(c == '\\') {
+                i++;
+            } else if(inClass) {
+                inClass = c != ']';
+            } else if(c == '[') {
+                inClass = true;
+
+                // A ] just after [ or [^ is a character of the class
+                if(i + 1 < body.length() && body.charAt(i + 1) == '^') {
+                    i++;
+                }
+
+                if(i + 1 < body.length() && body.charAt(i + 1) == ']') {
+                    i++;
+                }
+            } else if(c == '(') {
+                depth++;
+            } else if(c == ')' && --depth == 0) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * @param str   String
+     * @param start First index
+     * @param end   Index after the last character
+     * @return      Returns true if the characters match [\w.$]+
+     */
+    private static boolean isTypeName(String str, int start, int end) {
+
+        if(start >= end) {
+            return false;
+        }
+
+        for(int i = start; i < end; i++) {
+            char c = str.charAt(i);
+            if(!WordMatcher.isWordCharacter(c) && c != '.' && c != '$') {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * @param format    Message with the token and the command
+     * @param token     Token in error
+     * @param command   Command
+     * @return          Returns the exception
+     */
+    private static CommandInvalidFormat invalid(String format, String token, String command) {
+
+        return new CommandInvalidFormat(String.format(format, token, command));
+    }
+
+    /**
+     * Parameter of a command, its type is not resolved
+     */
+    public static final class Parameter {
+
+        private final String command;
+
+        private final String token;
+
+        private final String name;
+
+        private final int position;
+
+        private final String type;
+
+        private final PatternMatcher pattern;
+
+        private final boolean optional;
+
+        private final String defaultValue;
+
+        private final boolean greedy;
+
+        private Parameter(String command, String token, String name, int position, String type, PatternMatcher pattern,
+                          boolean optional, String defaultValue, boolean greedy) {
+
+            this.command = command;
+            this.token = token;
+            this.name = name;
+            this.position = position;
+            this.type = type;
+            this.pattern = pattern;
+            this.optional = optional;
+            this.defaultValue = defaultValue;
+            this.greedy = greedy;
+        }
+
+        /**
+         * @return  Returns the token of the parameter in the command, ie: [:amount<int>=1]
+         */
+        public String getToken() { return this.token; }
+
+        /**
+         * @return  Returns the name without :
+         */
+        public String getName() { return this.name; }
+
+        /**
+         * @return  Returns the position, the first one is 1
+         */
+        public int getPosition() { return this.position; }
+
+        /**
+         * @return  Returns the type name or enum class name, null for a word
+         */
+        public String getType() { return this.type; }
+
+        /**
+         * @return  Returns true if the parameter can be omitted
+         */
+        public boolean isOptional() { return this.optional; }
+
+        /**
+         * @return  Returns the token used when the parameter is omitted or null
+         */
+        public String getDefaultValue() { return this.defaultValue; }
+
+        /**
+         * @return  Returns true if the parameter takes the rest of the command
+         */
+        public boolean isGreedy() { return this.greedy; }
+
+        /**
+         * @param type  Resolved type, other than ParameterType.ENUM
+         * @return      Returns the parameter
+         * @throws CommandInvalidFormat Exception if the default value is not valid for the type
+         */
+        public CommandParameter create(ParameterType type) throws CommandInvalidFormat {
+
+            return this.configure(new CommandParameter(this.name, this.position, type));
+        }
+
+        /**
+         * @param enumType  Resolved enum class
+         * @return          Returns the parameter
+         * @throws CommandInvalidFormat Exception if the default value is not a constant of the enum
+         */
+        public CommandParameter create(Class<? extends Enum<?>> enumType) throws CommandInvalidFormat {
+
+            return this.configure(new CommandParameter(this.name, this.position, enumType));
+        }
+
+        private CommandParameter configure(CommandParameter parameter) throws CommandInvalidFormat {
+
+            if(this.pattern != null) {
+                parameter.setPattern(this.pattern);
+            }
+
+            if(this.greedy) {
+                parameter.setGreedy();
+            } else if(this.optional) {
+
+                // The default value is checked once here, it is parsed like a typed token
+                if(this.defaultValue != null && !parameter.matches(this.defaultValue)) {
+                    throw CommandSyntax.invalid("The default value of the parameter [%s] of the command [%s] is invalid.", this.token, this.command);
+                }
+
+                parameter.setOptional(this.defaultValue);
+            }
+
+            return parameter;
+        }
+
+    }
+
+}
@@ -0,0 +1,446 @@
+package com.dbout.commandhandler;
+
+import org.bukkit.command.BlockCommandSender;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.ConsoleCommandSender;
+import org.bukkit.entity.Player;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * CommandWatchdog
+ * Reports the commands whose execute() overruns a time budget, ie: a command that freezes the server for 200ms
+ * A daemon thread captures and logs the stack of the commands still running after SAMPLE_FACTOR budgets, ie: a command that never returns
+ * The overruns are aggregated by command, each command is logged at most once every REPORT_INTERVAL seconds
+ * https://github.com/dimitriBouteille/command-handler
+ *
+ * @author  Dimitri BOUTEILLE <bonjour@dimitri-bouteille.fr>
+ * @version 1.0
+ */
+public class CommandWatchdog {
+
+    /**
+     * Default budget in milliseconds, a tick
+     */
+    public static final long DEFAULT_BUDGET = 50;
+
+    /**
+     * The stack of a command is captured once it runs for SAMPLE_FACTOR budgets
+     */
+    public static final int SAMPLE_FACTOR = 4;
+
+    /**
+     * Minimum time between two reports of the same command, in seconds
+     */
+    public static final long REPORT_INTERVAL = 60;
+
+    /**
+     * Maximum number of frames of a captured stack
+     */
+    public static final int MAX_STACK_DEPTH = 32;
+
+    /**
+     * Logger of the reports, null to only aggregate them
+     */
+    private final Logger logger;
+
+    /**
+     * Budget in nanoseconds
+     */
+    private final long budget;
+
+    /**
+     * Commands being executed
+     */
+    private final Map<Execution, Boolean> running = new ConcurrentHashMap<>();
+
+    /**
+     * Overruns by command
+     */
+    private final Map<Command, SlowCommand> slowCommands = new ConcurrentHashMap<>();
+
+    /**
+     * Thread that captures the stacks, started on the first execution
+     */
+    private volatile Thread sampler;
+
+    /**
+     * If true, the sampler stops
+     */
+    private volatile boolean stopped = false;
+
+    /**
+     * Constructor
+     *
+     * @param logger    Logger of the reports, null to only aggregate them
+     * @param budget    Budget of execute()
+     * @param unit      Budget unit
+     */
+    public CommandWatchdog(Logger logger, long budget, TimeUnit unit) {
+
+        if(budget < 1) {
+            throw new IllegalArgumentException("The budget of the watchdog must be positive.");
+        }
+
+        this.logger = logger;
+        this.budget = unit.toNanos(budget);
+    }
+
+    /**
+     * @return  Returns the budget in nanoseconds
+     */
+    public long getBudget() { return this.budget; }
+
+    /**
+     * @return  Returns the commands that overran the budget, the slowest first
+     */
+    public List<SlowCommand> getSlowCommands() {
+
+        List<SlowCommand> slowCommands = new ArrayList<>(this.slowCommands.values());
+        slowCommands.sort((a, b) -> Long.compare(b.getMaxDuration(), a.getMaxDuration()));
+        return slowCommands;
+    }
+
+    /**
+     * Remove the aggregated overruns
+     */
+    public void reset() { this.slowCommands.clear(); }
+
+    /**
+     * Stop the sampler, ie: in onDisable()
+     */
+    public synchronized void shutdown() {
+
+        this.stopped = true;
+        if(this.sampler != null) {
+            this.sampler.interrupt();
+            this.sampler = null;
+        }
+    }
+
+    /**
+     * Called before execute(), on the thread of execute()
+     *
+     * @param command       Command
+     * @param sender        Sender
+     * @param parameters    Parameters found in the executed command
+     * @return              Returns the execution to pass to exit()
+     */
+    Execution enter(Command command, CommandSender sender, CommandParameters parameters) {
+
+        if(this.sampler == null && !this.stopped) {
+            this.startSampler();
+        }
+
+        Execution execution = new Execution(command, sender, parameters, Thread.currentThread());
+        this.running.put(execution, Boolean.TRUE);
+        return execution;
+    }
+
+    /**
+     * Called after execute(), even if it failed
+     *
+     * @param execution Execution returned by enter()
+     */
+    void exit(Execution execution) {
+
+        long duration = System.nanoTime() - execution.start;
+        this.running.remove(execution);
+        if(duration <= this.budget) {
+            return;
+        }
+
+        SlowCommand slowCommand = this.slowCommands.computeIfAbsent(execution.command, SlowCommand::new);
+        String report = slowCommand.record(duration, CommandWatchdog.getSenderType(execution.sender),
+                CommandWatchdog.redact(execution.parameters), execution.stack);
+
+        if(report != null && this.logger != null) {
+            this.logger.warning(report);
+        }
+    }
+
+    /**
+     * Start the sampler if it is not running
+     */
+    private synchronized void startSampler() {
+
+        if(this.sampler != null || this.stopped) {
+            return;
+        }
+
+        Thread thread = new Thread(this::sample, "CommandHandler-watchdog");
+        thread.setDaemon(true);
+        thread.start();
+        this.sampler = thread;
+    }
+
+    /**
+     * Capture and report the stack of the commands running after SAMPLE_FACTOR budgets, once per execution
+     * Wakes up once per budget, a capture pauses the sampled thread
+     */
+    private void sample() {
+
+        long period = Math.max(1, TimeUnit.NANOSECONDS.toMillis(this.budget));
+        long threshold = this.budget * SAMPLE_FACTOR;
+        while (!this.stopped) {
+
+            try {
+                Thread.sleep(period);
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            long now = System.nanoTime();
+            for(Execution execution : this.running.keySet()) {
+                if(execution.stack == null && now - execution.start > threshold) {
+                    StackTraceElement[] stack = execution.thread.getStackTrace();
+                    execution.stack = Arrays.copyOf(stack, Math.min(stack.length, MAX_STACK_DEPTH));
+
+                    // Logged now, the command may never return
+                    SlowCommand slowCommand = this.slowCommands.computeIfAbsent(execution.command, SlowCommand::new);
+                    String report = slowCommand.recordRunning(now - execution.start, CommandWatchdog.getSenderType(execution.sender),
+                            CommandWatchdog.redact(execution.parameters), execution.stack);
+
+                    if(report != null && this.logger != null) {
+                        this.logger.warning(report);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @param sender    Sender
+     * @return          Returns the type of the sender, the name is not reported
+     */
+    private static String getSenderType(CommandSender sender) {
+
+        if(sender instanceof Player) {
+            return "player";
+        } else if(sender instanceof ConsoleCommandSender) {
+            return "console";
+        } else if(sender instanceof BlockCommandSender) {
+            return "command block";
+        }
+
+        return sender.getClass().getSimpleName();
+    }
+
+    /**
+     * Replace the values of the parameters by their type
+     * ie: {player=<player>, amount=<int>}
+     *
+     * @param parameters    Parameters found in the executed command
+     * @return              Returns the parameters without value
+     */
+    private static String redact(CommandParameters parameters) {
+
+        StringBuilder builder = new StringBuilder("{");
+        for(int i = 0; i < parameters.size(); i++) {
+            if(i > 0) {
+                builder.append(", ");
+            }
+
+            CommandParameter parameter = parameters.getDefinition(i);
+            builder.append(parameter.getName()).append('=');
+            if(parameters.isPresent(i)) {
+                builder.append('<').append(parameter.getType().name().toLowerCase(Locale.ROOT)).append('>');
+            } else {
+                builder.append('-');
+            }
+        }
+
+        return builder.append('}').toString();
+    }
+
+    /**
+     * Execution of a command
+     */
+    static final class Execution {
+
+        private final Command command;
+
+        private final CommandSender sender;
+
+        private final CommandParameters parameters;
+
+        private final Thread thread;
+
+        private final long start = System.nanoTime();
+
+        /**
+         * Stack captured by the sampler
+         */
+        private volatile StackTraceElement[] stack;
+
+        private Execution(Command command, CommandSender sender, CommandParameters parameters, Thread thread) {
+
+            this.command = command;
+            this.sender = sender;
+            this.parameters = parameters;
+            this.thread = thread;
+        }
+
+    }
+
+    /**
+     * Overruns of a command
+     */
+    public static final class SlowCommand {
+
+        private final Command command;
+
+        private long count = 0;
+
+        private long totalDuration = 0;
+
+        private long maxDuration = 0;
+
+        private String lastSenderType;
+
+        private String lastArguments;
+
+        private StackTraceElement[] lastStack;
+
+        /**
+         * Overruns since the last report
+         */
+        private long unreported = 0;
+
+        /**
+         * System.nanoTime() after which the command can be reported again
+         */
+        private long nextReport = System.nanoTime();
+
+        private SlowCommand(Command command) { this.command = command; }
+
+        /**
+         * Record an overrun
+         *
+         * @param duration      Duration of execute() in nanoseconds
+         * @param senderType    Type of the sender
+         * @param arguments     Parameters without value
+         * @param stack         Captured stack or null
+         * @return              Returns the report to log or null if the command was reported recently
+         */
+        private synchronized String record(long duration, String senderType, String arguments, StackTraceElement[] stack) {
+
+            this.count++;
+            this.unreported++;
+            this.totalDuration += duration;
+            this.maxDuration = Math.max(this.maxDuration, duration);
+            this.lastSenderType = senderType;
+            this.lastArguments = arguments;
+            if(stack != null) {
+                this.lastStack = stack;
+            }
+
+            if(!this.canReport()) {
+                return null;
+            }
+
+            String report = String.format("The command [%s] took %d ms (%d slow runs since the last report, max %d ms), sender: %s, parameters: %s",
+                    this.command.getCommandBase(), TimeUnit.NANOSECONDS.toMillis(duration), this.unreported,
+                    TimeUnit.NANOSECONDS.toMillis(this.maxDuration), senderType, arguments);
+            this.unreported = 0;
+            return SlowCommand.appendStack(report, stack);
+        }
+
+        /**
+         * Report a command still running whose stack was captured, the overrun is recorded when it returns
+         *
+         * @param elapsed       Time since the start of execute() in nanoseconds
+         * @param senderType    Type of the sender
+         * @param arguments     Parameters without value
+         * @param stack         Captured stack
+         * @return              Returns the report to log or null if the command was reported recently
+         */
+        private synchronized String recordRunning(long elapsed, String senderType, String arguments, StackTraceElement[] stack) {
+
+            this.lastStack = stack;
+            if(!this.canReport()) {
+                return null;
+            }
+
+            String report = String.format("The command [%s] is still running after %d ms, sender: %s, parameters: %s",
+                    this.command.getCommandBase(), TimeUnit.NANOSECONDS.toMillis(elapsed), senderType, arguments);
+            return SlowCommand.appendStack(report, stack);
+        }
+
+        /**
+         * @return  Returns true and delays the next report if the command was not reported recently
+         */
+        private boolean canReport() {
+
+            long now = System.nanoTime();
+            if(now - this.nextReport < 0) {
+                return false;
+            }
+
+            this.nextReport = now + TimeUnit.SECONDS.toNanos(REPORT_INTERVAL);
+            return true;
+        }
+
+        /**
+         * @param report    Report
+         * @param stack     Captured stack or null
+         * @return          Returns the report followed by the frames of the stack
+         */
+        private static String appendStack(String report, StackTraceElement[] stack) {
+
+            if(stack == null) {
+                return report;
+            }
+
+            StringBuilder builder = new StringBuilder(report);
+            for(StackTraceElement frame : stack) {
+                builder.append("\n\tat ").append(frame);
+            }
+
+            return builder.toString();
+        }
+
+        /**
+         * @return  Returns the command
+         */
+        public Command getCommand() { return this.command; }
+
+        /**
+         * @return  Returns the number of overruns
+         */
+        public synchronized long getCount() { return this.count; }
+
+        /**
+         * @return  Returns the total duration of the overruns in nanoseconds
+         */
+        public synchronized long getTotalDuration() { return this.totalDuration; }
+
+        /**
+         * @return  Returns the longest duration in nanoseconds
+         */
+        public synchronized long getMaxDuration() { return this.maxDuration; }
+
+        /**
+         * @return  Returns the type of the sender of the last overrun
+         */
+        public synchronized String getLastSenderType() { return this.lastSenderType; }
+
+        /**
+         * @return  Returns the parameters of the last overrun, without value
+         */
+        public synchronized String getLastArguments() { return this.lastArguments; }
+
+        /**
+         * @return  Returns the last captured stack or null
+         */
+        public synchronized StackTraceElement[] getLastStack() { return this.lastStack; }
+
+    }
+
+}
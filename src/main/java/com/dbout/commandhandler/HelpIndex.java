@@ -0,0 +1,263 @@
+package com.dbout.commandhandler;
+
+import org.bukkit.ChatColor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.event.server.PluginEnableEvent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * HelpIndex
+ * Paginated list of the commands that a sender can run
+ * The commands are sorted once and filtered once by player, until the commands or the permissions change
+ * The view of a player expires like the permission checks, see PermissionCache
+ * https://github.com/dimitriBouteille/command-handler
+ *
+ * @author  Dimitri BOUTEILLE <bonjour@dimitri-bouteille.fr>
+ * @version 1.0
+ */
+public class HelpIndex implements Listener {
+
+    /**
+     * Number of commands by page, the chat shows 10 lines
+     */
+    public static final int PAGE_SIZE = 8;
+
+    /**
+     * Time in nanoseconds during which the view of a player is reused
+     */
+    private static final long VIEW_TTL = TimeUnit.MILLISECONDS.toNanos(PermissionCache.DEFAULT_TTL);
+
+    /**
+     * Handler of the commands
+     */
+    private final CommandHandler handler;
+
+    /**
+     * If false, the views of the players are not cached because nothing invalidates them
+     */
+    private final boolean cached;
+
+    /**
+     * Incremented when the commands or all permissions change, older views are rebuilt
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * All commands sorted by command
+     */
+    private volatile View sorted;
+
+    /**
+     * Commands that each player can run
+     */
+    private final Map<UUID, View> views = new ConcurrentHashMap<>();
+
+    /**
+     * Commands that the console can run, the console has all permissions
+     */
+    private volatile View consoleView;
+
+    /**
+     * Constructor
+     *
+     * @param handler   Handler of the commands
+     * @param cached    If true, the views of the players are cached and the index must be registered as a listener
+     */
+    public HelpIndex(CommandHandler handler, boolean cached) {
+
+        this.handler = handler;
+        this.cached = cached;
+    }
+
+    /**
+     * @param sender    Sender
+     * @return          Returns the number of pages for a sender, at least 1
+     */
+    public int getPageCount(CommandSender sender) {
+
+        return Math.max(1, (this.getView(sender).commands.length + PAGE_SIZE - 1) / PAGE_SIZE);
+    }
+
+    /**
+     * Render a page of the index
+     *
+     * @param sender    Sender
+     * @param page      Page number, the first page is 1
+     * @return          Returns the page as a single message, each line is separated by \n
+     */
+    public String getPage(CommandSender sender, int page) {
+
+        Command[] commands = this.getView(sender).commands;
+        int pages = Math.max(1, (commands.length + PAGE_SIZE - 1) / PAGE_SIZE);
+        int current = Math.min(Math.max(page, 1), pages);
+
+        StringBuilder builder = new StringBuilder();
+        builder.append(ChatColor.YELLOW).append("-- Help (").append(current).append('/').append(pages).append(") --");
+        if(commands.length == 0) {
+            builder.append('\n').append(ChatColor.GRAY).append("No command available.");
+        }
+
+        int end = Math.min(current * PAGE_SIZE, commands.length);
+        for(int i = (current - 1) * PAGE_SIZE; i < end; i++) {
+            builder.append('\n').append(commands[i].getHelpLine());
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * Remove the view of a player, ie: when his permissions are recalculated
+     *
+     * @param playerId  Player UUID
+     */
+    public void invalidate(UUID playerId) { this.views.remove(playerId); }
+
+    /**
+     * Remove all views, ie: when a command is registered
+     */
+    public void invalidateAll() {
+
+        this.generation.incrementAndGet();
+        this.consoleView = null;
+        this.views.clear();
+    }
+
+    /**
+     * @param sender    Sender
+     * @return          Returns the commands that the sender can run, built if not cached or outdated
+     */
+    private View getView(CommandSender sender) {
+
+        long current = this.generation.get();
+        if(!(sender instanceof Player)) {
+            View view = this.consoleView;
+            if(view == null || view.generation != current) {
+                view = new View(current, 0, this.filter(sender, current));
+                this.consoleView = view;
+            }
+
+            return view;
+        }
+
+        if(!this.cached) {
+            return new View(current, 0, this.filter(sender, current));
+        }
+
+        UUID playerId = ((Player)sender).getUniqueId();
+        View view = this.views.get(playerId);
+        long now = System.nanoTime();
+        if(view == null || view.generation != current || now - view.expires >= 0) {
+            view = new View(current, now + VIEW_TTL, this.filter(sender, current));
+            this.views.put(playerId, view);
+        }
+
+        return view;
+    }
+
+    /**
+     * @param sender        Sender
+     * @param generation    Current generation
+     * @return              Returns the sorted commands that the sender can run
+     */
+    private Command[] filter(CommandSender sender, long generation) {
+
+        List<Command> allowed = new ArrayList<>();
+        for(Command command : this.getSorted(generation)) {
+            if(this.handler.canUse(command, sender)) {
+                allowed.add(command);
+            }
+        }
+
+        return allowed.toArray(new Command[0]);
+    }
+
+    /**
+     * @param generation    Current generation
+     * @return              Returns all commands sorted by command
+     */
+    private Command[] getSorted(long generation) {
+
+        View view = this.sorted;
+        if(view == null || view.generation != generation) {
+            Command[] commands = this.handler.getCommands().toArray(new Command[0]);
+            Arrays.sort(commands, Comparator.comparing(Command::getCommand, String.CASE_INSENSITIVE_ORDER));
+            view = new View(generation, 0, commands);
+            this.sorted = view;
+        }
+
+        return view.commands;
+    }
+
+    /**
+     * @param event Event
+     */
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onPlayerJoin(PlayerJoinEvent event) { this.invalidate(event.getPlayer().getUniqueId()); }
+
+    /**
+     * @param event Event
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) { this.invalidate(event.getPlayer().getUniqueId()); }
+
+    /**
+     * Permissions can depend on the world
+     *
+     * @param event Event
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerChangedWorld(PlayerChangedWorldEvent event) { this.invalidate(event.getPlayer().getUniqueId()); }
+
+    /**
+     * A permission plugin can be enabled, ie: after a reload
+     *
+     * @param event Event
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPluginEnable(PluginEnableEvent event) { this.invalidateAll(); }
+
+    /**
+     * The permissions given by a plugin are removed with it
+     *
+     * @param event Event
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPluginDisable(PluginDisableEvent event) { this.invalidateAll(); }
+
+    /**
+     * Commands built for a generation of the index, the view of a player expires in System.nanoTime()
+     */
+    private static final class View {
+
+        private final long generation;
+
+        private final long expires;
+
+        private final Command[] commands;
+
+        private View(long generation, long expires, Command[] commands) {
+
+            this.generation = generation;
+            this.expires = expires;
+            this.commands = commands;
+        }
+
+    }
+
+}
@@ -0,0 +1,127 @@
+package com.dbout.commandhandler;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LatencyHistogram
+ * Histogram of durations with power of two buckets and striped counters
+ * ie: bucket 9 counts the durations between 512ns and 1023ns
+ * https://github.com/dimitriBouteille/command-handler
+ *
+ * @author  Dimitri BOUTEILLE <bonjour@dimitri-bouteille.fr>
+ * @version 1.0
+ */
+public class LatencyHistogram {
+
+    /**
+     * One bucket by bit of a long
+     */
+    private static final int BUCKETS = 64;
+
+    /**
+     * Number of durations by bucket
+     */
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+
+    /**
+     * Sum of the durations in nanoseconds
+     */
+    private final LongAdder total = new LongAdder();
+
+    /**
+     * Constructor
+     */
+    public LatencyHistogram() {
+
+        for(int i = 0; i < BUCKETS; i++) {
+            this.buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Record a duration
+     *
+     * @param nanos Duration in nanoseconds
+     */
+    public void record(long nanos) {
+
+        if(nanos < 0) {
+            nanos = 0;
+        }
+
+        int bucket = nanos == 0 ? 0 : BUCKETS - 1 - Long.numberOfLeadingZeros(nanos);
+        this.buckets[bucket].increment();
+        this.total.add(nanos);
+    }
+
+    /**
+     * @return  Returns the number of durations recorded
+     */
+    public long getCount() {
+
+        long count = 0;
+        for(LongAdder bucket : this.buckets) {
+            count += bucket.sum();
+        }
+
+        return count;
+    }
+
+    /**
+     * @return  Returns the sum of the durations in nanoseconds
+     */
+    public long getTotal() { return this.total.sum(); }
+
+    /**
+     * @return  Returns the mean duration in nanoseconds
+     */
+    public long getMean() {
+
+        long count = this.getCount();
+        return count == 0 ? 0 : this.total.sum() / count;
+    }
+
+    /**
+     * Estimate a percentile, the result is the upper bound of the bucket that contains it
+     *
+     * @param percentile    Percentile between 0 and 100, ie: 99
+     * @return              Returns the duration in nanoseconds
+     */
+    public long getPercentile(double percentile) {
+
+        long[] counts = new long[BUCKETS];
+        long count = 0;
+        for(int i = 0; i < BUCKETS; i++) {
+            counts[i] = this.buckets[i].sum();
+            count += counts[i];
+        }
+
+        if(count == 0) {
+            return 0;
+        }
+
+        long rank = (long)Math.ceil(count * Math.min(100, Math.max(0, percentile)) / 100);
+        long seen = 0;
+        for(int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if(seen >= rank && counts[i] > 0) {
+                return i >= BUCKETS - 1 ? Long.MAX_VALUE : (1L << (i + 1)) - 1;
+            }
+        }
+
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Remove all durations
+     */
+    public void reset() {
+
+        for(LongAdder bucket : this.buckets) {
+            bucket.reset();
+        }
+
+        this.total.reset();
+    }
+
+}
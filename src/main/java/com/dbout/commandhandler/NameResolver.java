@@ -0,0 +1,225 @@
+package com.dbout.commandhandler;
+
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * NameResolver
+ * Index of the online players and the loaded worlds, rebuilt only after a join, a quit or a world (un)load
+ * Resolves the player and world parameters with the same results as Bukkit.getPlayer() and Bukkit.getWorld(), and gives the sorted names to the completer
+ * https://github.com/dimitriBouteille/command-handler
+ *
+ * @author  Dimitri BOUTEILLE <bonjour@dimitri-bouteille.fr>
+ * @version 1.0
+ */
+public class NameResolver implements Listener {
+
+    /**
+     * If false, nothing invalidates the indexes, they are rebuilt on each call and the Bukkit API resolves the names
+     */
+    private final boolean cached;
+
+    /**
+     * Online players, null when they must be rebuilt
+     */
+    private volatile Names<Player> players;
+
+    /**
+     * Loaded worlds, null when they must be rebuilt
+     */
+    private volatile Names<World> worlds;
+
+    /**
+     * Constructor
+     *
+     * @param cached    If true, the indexes are cached and the resolver must be registered as a listener
+     */
+    public NameResolver(boolean cached) { this.cached = cached; }
+
+    /**
+     * Search an online player by exact name without case, or else by the shortest name starting with the token
+     *
+     * @param name  Name or start of the name
+     * @return      Returns the player or null
+     */
+    public Player getPlayer(String name) {
+
+        if(!this.cached) {
+            return Bukkit.getPlayer(name);
+        }
+
+        Names<Player> index = this.getPlayers();
+        Player player = index.byName.get(name.toLowerCase(Locale.ROOT));
+        if(player != null) {
+            return player;
+        }
+
+        // All the names starting with the token follow each other in the sorted names
+        Player found = null;
+        int length = Integer.MAX_VALUE;
+        for(int i = SortedNames.indexOfPrefix(index.names, name); i < index.names.length; i++) {
+
+            String candidate = index.names[i];
+            if(!candidate.regionMatches(true, 0, name, 0, name.length())) {
+                break;
+            }
+
+            if(candidate.length() < length) {
+                found = index.values.get(i);
+                length = candidate.length();
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * @param name  Name without case
+     * @return      Returns the online player with this name or null
+     */
+    public Player getPlayerExact(String name) {
+
+        if(!this.cached) {
+            return Bukkit.getPlayerExact(name);
+        }
+
+        return this.getPlayers().byName.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * @param name  Name without case
+     * @return      Returns the loaded world with this name or null
+     */
+    public World getWorld(String name) {
+
+        if(!this.cached) {
+            return Bukkit.getWorld(name);
+        }
+
+        return this.getWorlds().byName.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * @return  Returns the names of the online players sorted without case, the array must not be modified
+     */
+    public String[] getPlayerNames() { return this.getPlayers().names; }
+
+    /**
+     * @return  Returns the names of the loaded worlds sorted without case, the array must not be modified
+     */
+    public String[] getWorldNames() { return this.getWorlds().names; }
+
+    /**
+     * @return  Returns the index of the online players, built if needed
+     */
+    private Names<Player> getPlayers() {
+
+        Names<Player> index = this.players;
+        if(index == null) {
+            index = new Names<>(Bukkit.getOnlinePlayers(), Player::getName);
+            if(this.cached) {
+                this.players = index;
+            }
+        }
+
+        return index;
+    }
+
+    /**
+     * @return  Returns the index of the loaded worlds, built if needed
+     */
+    private Names<World> getWorlds() {
+
+        Names<World> index = this.worlds;
+        if(index == null) {
+            index = new Names<>(Bukkit.getWorlds(), World::getName);
+            if(this.cached) {
+                this.worlds = index;
+            }
+        }
+
+        return index;
+    }
+
+    /**
+     * @param event Event
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) { this.players = null; }
+
+    /**
+     * The player is still online during the event, the index is rebuilt now without the player
+     *
+     * @param event Event
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+
+        List<Player> online = new ArrayList<>(Bukkit.getOnlinePlayers());
+        online.remove(event.getPlayer());
+        this.players = new Names<>(online, Player::getName);
+    }
+
+    /**
+     * @param event Event
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldLoad(WorldLoadEvent event) { this.worlds = null; }
+
+    /**
+     * The world is still loaded during the event, the index is rebuilt now without the world
+     *
+     * @param event Event
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldUnload(WorldUnloadEvent event) {
+
+        List<World> loaded = new ArrayList<>(Bukkit.getWorlds());
+        loaded.remove(event.getWorld());
+        this.worlds = new Names<>(loaded, World::getName);
+    }
+
+    /**
+     * Values by lowercase name and sorted without case
+     */
+    private static final class Names<T> {
+
+        private final Map<String, T> byName;
+
+        private final String[] names;
+
+        private final List<T> values;
+
+        private Names(Collection<? extends T> values, Function<T, String> getName) {
+
+            List<T> sorted = new ArrayList<>(values);
+            sorted.sort(Comparator.comparing(getName, String.CASE_INSENSITIVE_ORDER));
+
+            this.byName = new HashMap<>(sorted.size() * 2);
+            this.names = new String[sorted.size()];
+            this.values = sorted;
+            for(int i = 0; i < this.names.length; i++) {
+                this.names[i] = getName.apply(sorted.get(i));
+                this.byName.put(this.names[i].toLowerCase(Locale.ROOT), sorted.get(i));
+            }
+        }
+
+    }
+
+}
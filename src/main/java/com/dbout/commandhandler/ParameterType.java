@@ -0,0 +1,105 @@
+package com.dbout.commandhandler;
+
+import com.dbout.commandhandler.matchers.*;
+
+/**
+ * ParameterType
+ * Type of a command parameter, declared in the command
+ * ie: myCommand :player<player> :amount<int>
+ * https://github.com/dimitriBouteille/command-handler
+ *
+ * @author  Dimitri BOUTEILLE <bonjour@dimitri-bouteille.fr>
+ * @version 1.0
+ */
+public enum ParameterType {
+
+    /**
+     * Default type, ie: :name or :name<word>
+     */
+    WORD("word", WordMatcher.INSTANCE),
+
+    /**
+     * ie: :amount<int>
+     */
+    INT("int", IntMatcher.INSTANCE),
+
+    /**
+     * ie: :amount<long>
+     */
+    LONG("long", LongMatcher.INSTANCE),
+
+    /**
+     * ie: :price<double>
+     */
+    DOUBLE("double", DoubleMatcher.INSTANCE),
+
+    /**
+     * ie: :enabled<boolean>
+     */
+    BOOLEAN("boolean", BooleanMatcher.INSTANCE),
+
+    /**
+     * ie: :id<uuid>
+     */
+    UUID("uuid", UuidMatcher.INSTANCE),
+
+    /**
+     * Online player, ie: :target<player>
+     */
+    PLAYER("player", WordMatcher.INSTANCE),
+
+    /**
+     * Loaded world, ie: :world<world>
+     */
+    WORLD("world", AnyMatcher.INSTANCE),
+
+    /**
+     * Enum constant, the type is the enum class name
+     * ie: :mode<org.bukkit.GameMode>
+     */
+    ENUM("enum", null);
+
+    /**
+     * Name used in the command
+     */
+    private final String name;
+
+    /**
+     * Shared token validation, null when it depends on the parameter
+     */
+    private final ParameterMatcher matcher;
+
+    ParameterType(String name, ParameterMatcher matcher) {
+
+        this.name = name;
+        this.matcher = matcher;
+    }
+
+    /**
+     * @return  Returns the name used in the command
+     */
+    public String getName() { return this.name; }
+
+    /**
+     * @return  Returns the shared token validation, null for ENUM
+     */
+    public ParameterMatcher getMatcher() { return this.matcher; }
+
+    /**
+     * Search a type by its name
+     *
+     * @param name  Name used in the command
+     * @return      Returns the type or null
+     */
+    public static ParameterType fromName(String name) {
+
+        for(ParameterType type : ParameterType.values()) {
+            if(type != ENUM && type.name.equals(name)) {
+                return type;
+            }
+        }
+
+        return null;
+    }
+
+}
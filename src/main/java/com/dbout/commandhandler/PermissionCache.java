@@ -0,0 +1,149 @@
+package com.dbout.commandhandler;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.event.server.PluginEnableEvent;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PermissionCache
+ * Caches the permission checks by player and permission node
+ * Bukkit has no event when an operator is removed or a permission attachment changes, so a check expires after a short time
+ * https://github.com/dimitriBouteille/command-handler
+ *
+ * @author  Dimitri BOUTEILLE <bonjour@dimitri-bouteille.fr>
+ * @version 1.0
+ */
+public class PermissionCache implements Listener {
+
+    /**
+     * Time in milliseconds during which a check is reused
+     */
+    public static final long DEFAULT_TTL = 1000;
+
+    /**
+     * Time in nanoseconds during which a check is reused
+     */
+    private final long ttl;
+
+    /**
+     * Result of the checks
+     * ie: {uuid => {myplugin.command => true}}
+     */
+    private final Map<UUID, Map<String, Check>> permissions = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor, the checks expire after DEFAULT_TTL milliseconds
+     */
+    public PermissionCache() { this(DEFAULT_TTL, TimeUnit.MILLISECONDS); }
+
+    /**
+     * Constructor
+     *
+     * @param ttl   Time during which a check is reused, 0 to never reuse a check
+     * @param unit  Unit of ttl
+     */
+    public PermissionCache(long ttl, TimeUnit unit) {
+
+        if(ttl < 0) {
+            throw new IllegalArgumentException("The ttl can't be negative.");
+        }
+
+        this.ttl = unit.toNanos(ttl);
+    }
+
+    /**
+     * Checks if a player has a permission, the result is cached until it expires or invalidate() is called
+     *
+     * @param player    Player
+     * @param node      Permission node
+     * @return          Returns true if the player has the permission or false
+     */
+    public boolean hasPermission(Player player, String node) {
+
+        Map<String, Check> nodes = this.permissions.computeIfAbsent(player.getUniqueId(), k -> new ConcurrentHashMap<>());
+        long now = System.nanoTime();
+        Check check = nodes.get(node);
+        if(check == null || now - check.expires >= 0) {
+            check = new Check(player.hasPermission(node), now + this.ttl);
+            nodes.put(node, check);
+        }
+
+        return check.granted;
+    }
+
+    /**
+     * Remove the cached checks of a player, ie: when his permissions are recalculated
+     *
+     * @param playerId  Player UUID
+     */
+    public void invalidate(UUID playerId) { this.permissions.remove(playerId); }
+
+    /**
+     * Remove all cached checks
+     */
+    public void invalidateAll() { this.permissions.clear(); }
+
+    /**
+     * @param event Event
+     */
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onPlayerJoin(PlayerJoinEvent event) { this.invalidate(event.getPlayer().getUniqueId()); }
+
+    /**
+     * @param event Event
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) { this.invalidate(event.getPlayer().getUniqueId()); }
+
+    /**
+     * Permissions can depend on the world
+     *
+     * @param event Event
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerChangedWorld(PlayerChangedWorldEvent event) { this.invalidate(event.getPlayer().getUniqueId()); }
+
+    /**
+     * A permission plugin can be enabled, ie: after a reload
+     *
+     * @param event Event
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPluginEnable(PluginEnableEvent event) { this.invalidateAll(); }
+
+    /**
+     * The permissions given by a plugin are removed with it
+     *
+     * @param event Event
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPluginDisable(PluginDisableEvent event) { this.invalidateAll(); }
+
+    /**
+     * Result of a check and its expiration in System.nanoTime()
+     */
+    private static final class Check {
+
+        private final boolean granted;
+
+        private final long expires;
+
+        private Check(boolean granted, long expires) {
+
+            this.granted = granted;
+            this.expires = expires;
+        }
+
+    }
+
+}
@@ -0,0 +1,129 @@
+package com.dbout.commandhandler;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RateLimiter
+ * Token buckets by sender, each bucket is a single atomic timestamp updated without lock
+ * ie: 3 permits every 10 seconds, a cooldown is 1 permit by period
+ * https://github.com/dimitriBouteille/command-handler
+ *
+ * @author  Dimitri BOUTEILLE <bonjour@dimitri-bouteille.fr>
+ * @version 1.0
+ */
+public class RateLimiter {
+
+    /**
+     * The idle buckets are removed every SWEEP_INTERVAL acquisitions
+     */
+    private static final int SWEEP_INTERVAL = 1024;
+
+    /**
+     * Time between two permits in nanoseconds
+     */
+    private final long interval;
+
+    /**
+     * How far the next permit can be ahead of the current time, (permits - 1) * interval
+     */
+    private final long tolerance;
+
+    /**
+     * Time at which each bucket is full again, in System.nanoTime()
+     * A bucket whose time has passed is idle and can be removed
+     */
+    private final Map<UUID, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * Number of acquisitions, used to sweep the idle buckets
+     */
+    private final AtomicLong acquisitions = new AtomicLong();
+
+    /**
+     * Constructor
+     *
+     * @param permits   Number of permits by period
+     * @param period    Period
+     * @param unit      Period unit
+     */
+    public RateLimiter(int permits, long period, TimeUnit unit) {
+
+        if(permits < 1 || period < 1) {
+            throw new IllegalArgumentException("The rate limit needs at least 1 permit and a positive period.");
+        }
+
+        this.interval = Math.max(1, unit.toNanos(period) / permits);
+        this.tolerance = this.interval * (permits - 1);
+    }
+
+    /**
+     * Take a permit for a sender
+     *
+     * @param senderId  Sender UUID
+     * @return          Returns true if a permit was taken or false if the sender must wait
+     */
+    public boolean tryAcquire(UUID senderId) {
+
+        long now = System.nanoTime();
+        if(this.acquisitions.incrementAndGet() % SWEEP_INTERVAL == 0) {
+            this.sweep(now);
+        }
+
+        AtomicLong bucket = this.buckets.get(senderId);
+        if(bucket == null) {
+            bucket = this.buckets.computeIfAbsent(senderId, k -> new AtomicLong(now));
+        }
+
+        while (true) {
+            long full = bucket.get();
+            long next = full - now < 0 ? now : full;
+            if(next - now > this.tolerance) {
+                return false;
+            }
+
+            if(bucket.compareAndSet(full, next + this.interval)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @param senderId  Sender UUID
+     * @return          Returns the time to wait before the next permit in milliseconds, 0 if a permit is available
+     */
+    public long getWaitMillis(UUID senderId) {
+
+        AtomicLong bucket = this.buckets.get(senderId);
+        if(bucket == null) {
+            return 0;
+        }
+
+        long wait = bucket.get() - this.tolerance - System.nanoTime();
+        return wait <= 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(wait) + 1;
+    }
+
+    /**
+     * @return  Returns the number of senders that have a bucket
+     */
+    public int size() { return this.buckets.size(); }
+
+    /**
+     * Remove the buckets that are full again, their senders are not limited anymore
+     *
+     * @param now   System.nanoTime()
+     */
+    private void sweep(long now) {
+
+        for(Map.Entry<UUID, AtomicLong> entry : this.buckets.entrySet()) {
+            AtomicLong bucket = entry.getValue();
+            if(bucket.get() - now <= 0) {
+                this.buckets.remove(entry.getKey(), bucket);
+            }
+        }
+    }
+
+}
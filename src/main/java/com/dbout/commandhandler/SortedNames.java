@@ -0,0 +1,62 @@
+package com.dbout.commandhandler;
+
+import java.util.List;
+
+/**
+ * SortedNames
+ * Prefix search in names sorted without case
+ * ie: online players, loaded worlds, children of a command
+ * https://github.com/dimitriBouteille/command-handler
+ *
+ * @author  Dimitri BOUTEILLE <bonjour@dimitri-bouteille.fr>
+ * @version 1.0
+ */
+public final class SortedNames {
+
+    private SortedNames() {}
+
+    /**
+     * Search the first name >= prefix without case, all the names starting with prefix follow it
+     *
+     * @param sorted    Names sorted without case
+     * @param prefix    Prefix
+     * @return          Returns the index of the first name or sorted.length
+     */
+    public static int indexOfPrefix(String[] sorted, String prefix) {
+
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if(String.CASE_INSENSITIVE_ORDER.compare(sorted[middle], prefix) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Add the names that start with a prefix, without case
+     *
+     * @param sorted    Names sorted without case
+     * @param prefix    Prefix
+     * @param out       List in which the names are added
+     * @param limit     Maximum size of the list
+     */
+    public static void addStartingWith(String[] sorted, String prefix, List<String> out, int limit) {
+
+        for(int i = SortedNames.indexOfPrefix(sorted, prefix); i < sorted.length && out.size() < limit; i++) {
+            if(!sorted[i].regionMatches(true, 0, prefix, 0, prefix.length())) {
+                break;
+            }
+
+            if(!out.contains(sorted[i])) {
+                out.add(sorted[i]);
+            }
+        }
+    }
+
+}
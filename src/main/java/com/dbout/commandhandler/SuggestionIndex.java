@@ -0,0 +1,296 @@
+package com.dbout.commandhandler;
+
+import org.bukkit.command.CommandSender;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * SuggestionIndex
+ * BK-tree of the command bases and aliases, used to suggest the nearest commands of an executed command that matches nothing
+ * The registered commands are inserted in a copy of the path to their node, a miss only searches the tree and visits at most MAX_VISITS nodes
+ * https://github.com/dimitriBouteille/command-handler
+ *
+ * @author  Dimitri BOUTEILLE <bonjour@dimitri-bouteille.fr>
+ * @version 1.0
+ */
+public class SuggestionIndex {
+
+    /**
+     * Maximum edit distance between the executed command and a suggested base
+     */
+    public static final int MAX_DISTANCE = 2;
+
+    /**
+     * Maximum number of nodes visited by a search, bounds the time spent on a miss
+     */
+    public static final int MAX_VISITS = 256;
+
+    /**
+     * Maximum length of a searched string, a longer executed command is truncated
+     */
+    public static final int MAX_QUERY_LENGTH = 48;
+
+    /**
+     * Handler of the commands
+     */
+    private final CommandHandler handler;
+
+    /**
+     * Tree of the registered commands, replaced on each registration
+     */
+    private volatile Tree tree = new Tree(null, 0);
+
+    /**
+     * Constructor
+     *
+     * @param handler   Handler of the commands
+     */
+    public SuggestionIndex(CommandHandler handler) { this.handler = handler; }
+
+    /**
+     * Insert the bases of new commands and publish the tree, ie: when commands are registered
+     * Only the nodes from the root to the inserted nodes are copied, the searches running use the previous tree
+     *
+     * @param commands  Registered commands
+     */
+    public void add(Collection<Command> commands) {
+
+        Tree index = this.tree;
+        for(Command command : commands) {
+            for(String base : command.getAllBases()) {
+                String[] tokens = base.trim().toLowerCase(Locale.ROOT).split("\\s+");
+                index = index.add(String.join(" ", tokens), tokens.length, command);
+            }
+        }
+
+        this.tree = index;
+    }
+
+    /**
+     * Search the commands nearest to an executed command, that the sender can run
+     * The literal part of the executed command is compared with 1 token, 2 tokens... as many tokens as the longest base
+     *
+     * @param sender    Sender
+     * @param label     Command label
+     * @param args      Command arguments
+     * @param limit     Maximum number of suggestions
+     * @return          Returns the commands, the nearest first
+     */
+    public List<Command> suggest(CommandSender sender, String label, String[] args, int limit) {
+
+        Tree index = this.tree;
+        if(index.root == null || limit <= 0 || label.length() > MAX_QUERY_LENGTH) {
+            return new ArrayList<>();
+        }
+
+        // The literal part typed without error, ie: the parameters are invalid
+        Map<Command, Integer> found = new LinkedHashMap<>();
+        List<Command> exact = new ArrayList<>();
+        CommandIndex.Node node = this.handler.index.getNode(label);
+        for(int i = 0; node != null; i++) {
+
+            exact.addAll(0, Arrays.asList(node.getCommands()));
+            node = i < args.length ? node.getChild(args[i]) : null;
+        }
+
+        for(Command command : exact) {
+            found.putIfAbsent(command, 0);
+        }
+
+        // Typing errors
+        int[] visits = {0};
+        StringBuilder query = new StringBuilder(label.toLowerCase(Locale.ROOT));
+        for(int tokens = 1; tokens <= index.maxTokens && query.length() <= MAX_QUERY_LENGTH; tokens++) {
+
+            this.search(index.root, query.toString(), found, visits);
+            if(tokens > args.length) {
+                break;
+            }
+
+            query.append(' ').append(args[tokens - 1].toLowerCase(Locale.ROOT));
+        }
+
+        List<Map.Entry<Command, Integer>> nearest = new ArrayList<>(found.entrySet());
+        nearest.sort(Map.Entry.comparingByValue());
+
+        List<Command> suggestions = new ArrayList<>();
+        for(Map.Entry<Command, Integer> entry : nearest) {
+            if(suggestions.size() < limit && this.handler.canUse(entry.getKey(), sender)) {
+                suggestions.add(entry.getKey());
+            }
+        }
+
+        return suggestions;
+    }
+
+    /**
+     * Search the bases near a query, within the visit budget
+     *
+     * @param root      Root of the tree
+     * @param query     Lowercase literal part of the executed command
+     * @param found     Commands found with their distance
+     * @param visits    Number of nodes already visited
+     */
+    private void search(Node root, String query, Map<Command, Integer> found, int[] visits) {
+
+        // Short queries tolerate one edit, ie: 'sapwn' is 2 edits of 'spawn'
+        int tolerance = query.length() <= 3 ? 1 : MAX_DISTANCE;
+
+        List<Node> pending = new ArrayList<>();
+        pending.add(root);
+        while (!pending.isEmpty() && visits[0] < MAX_VISITS) {
+
+            Node node = pending.remove(pending.size() - 1);
+            visits[0]++;
+
+            int distance = SuggestionIndex.distance(query, node.key);
+            if(distance <= tolerance) {
+                for(Command command : node.commands) {
+                    Integer previous = found.get(command);
+                    if(previous == null || distance < previous) {
+                        found.put(command, distance);
+                    }
+                }
+            }
+
+            // Triangle inequality, only the children at distance - tolerance .. distance + tolerance can match
+            for(Map.Entry<Integer, Node> child : node.children.entrySet()) {
+                if(Math.abs(child.getKey() - distance) <= tolerance) {
+                    pending.add(child.getValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * Levenshtein distance
+     *
+     * @param a First string
+     * @param b Second string
+     * @return  Returns the number of insertions, deletions and substitutions from a to b
+     */
+    static int distance(String a, String b) {
+
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for(int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+
+        for(int i = 1; i <= a.length(); i++) {
+
+            current[0] = i;
+            char c = a.charAt(i - 1);
+            for(int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (c == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+
+        return previous[b.length()];
+    }
+
+    /**
+     * BK-tree, never modified once published
+     */
+    private static final class Tree {
+
+        private final Node root;
+
+        private final int maxTokens;
+
+        private Tree(Node root, int maxTokens) {
+
+            this.root = root;
+            this.maxTokens = maxTokens;
+        }
+
+        /**
+         * @param key       Lowercase base
+         * @param tokens    Number of tokens of the base
+         * @param command   Command that uses the base
+         * @return          Returns a tree with the base, sharing the nodes outside the path to the base
+         */
+        private Tree add(String key, int tokens, Command command) {
+
+            List<Node> path = new ArrayList<>();
+            List<Integer> distances = new ArrayList<>();
+            Node inserted = null;
+            Node node = this.root;
+            while (node != null) {
+
+                int distance = SuggestionIndex.distance(key, node.key);
+                if(distance == 0) {
+                    if(node.commands.contains(command)) {
+                        return this;
+                    }
+
+                    inserted = node.withCommand(command);
+                    break;
+                }
+
+                path.add(node);
+                distances.add(distance);
+                node = node.children.get(distance);
+            }
+
+            if(inserted == null) {
+                inserted = new Node(key, Collections.singletonList(command), Collections.emptyMap());
+            }
+
+            // Copy the path from the bottom
+            for(int i = path.size() - 1; i >= 0; i--) {
+                inserted = path.get(i).withChild(distances.get(i), inserted);
+            }
+
+            return new Tree(inserted, Math.max(this.maxTokens, tokens));
+        }
+
+    }
+
+    /**
+     * Node of the BK-tree, a base and the commands that use it
+     */
+    private static final class Node {
+
+        private final String key;
+
+        private final List<Command> commands;
+
+        private final Map<Integer, Node> children;
+
+        private Node(String key, List<Command> commands, Map<Integer, Node> children) {
+
+            this.key = key;
+            this.commands = commands;
+            this.children = children;
+        }
+
+        private Node withCommand(Command command) {
+
+            List<Command> commands = new ArrayList<>(this.commands);
+            commands.add(command);
+            return new Node(this.key, commands, this.children);
+        }
+
+        private Node withChild(int distance, Node child) {
+
+            Map<Integer, Node> children = new HashMap<>(this.children);
+            children.put(distance, child);
+            return new Node(this.key, this.commands, children);
+        }
+
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.dbout.commandhandler.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * CommandDef
+ * Declares a command on a method, the command class is generated at build time by the processor
+ * ie: @CommandDef("warp :name<world>") public void warp(Player sender, World name) {}
+ * https://github.com/dimitriBouteille/command-handler
+ *
+ * @author  Dimitri BOUTEILLE <bonjour@dimitri-bouteille.fr>
+ * @version 1.0
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.METHOD)
+public @interface CommandDef {
+
+    /**
+     * @return  Command, ie: warp :name<world>
+     */
+    String value();
+
+    /**
+     * @return  Command name (optional)
+     */
+    String name() default "";
+
+    /**
+     * @return  Command description (optional)
+     */
+    String description() default "";
+
+    /**
+     * @return  How the command should be executed (optional)
+     */
+    String usage() default "";
+
+    /**
+     * @return  Aliases (optional)
+     */
+    String[] aliases() default {};
+
+    /**
+     * @return  Command examples (optional)
+     */
+    String[] examples() default {};
+
+    /**
+     * @return  Who can execute the command, see com.dbout.commandhandler.CommandSender
+     */
+    int sender() default com.dbout.commandhandler.CommandSender.ALL;
+
+    /**
+     * @return  If true, the method is called outside the main thread
+     */
+    boolean async() default false;
+
+}
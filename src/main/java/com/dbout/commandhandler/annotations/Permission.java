@@ -0,0 +1,25 @@
+package com.dbout.commandhandler.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Permission
+ * Permission that the player must have to execute a command declared with @CommandDef
+ * https://github.com/dimitriBouteille/command-handler
+ *
+ * @author  Dimitri BOUTEILLE <bonjour@dimitri-bouteille.fr>
+ * @version 1.0
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.METHOD)
+public @interface Permission {
+
+    /**
+     * @return  Permission node, ie: myplugin.warp
+     */
+    String value();
+
+}
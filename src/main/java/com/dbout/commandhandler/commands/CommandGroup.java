@@ -0,0 +1,62 @@
+package com.dbout.commandhandler.commands;
+
+import com.dbout.commandhandler.Command;
+import com.dbout.commandhandler.CommandParameters;
+import org.bukkit.command.CommandSender;
+import org.bukkit.permissions.Permission;
+
+/**
+ * CommandGroup
+ * Parent of a family of subcommands, shows the help of the family when executed alone
+ * ie: handler.registerCommand(new CommandGroup("guild", null, new GuildCreate(), new GuildInvite()));
+ *     with GuildCreate on "create :name" => /guild create :name
+ * https://github.com/dimitriBouteille/command-handler
+ *
+ * @author  Dimitri BOUTEILLE <bonjour@dimitri-bouteille.fr>
+ * @version 1.0
+ */
+public class CommandGroup extends Command {
+
+    /**
+     * Constructor
+     *
+     * @param command       Command, ie: guild
+     * @param permission    Permission inherited by the subcommands without permission, null for everybody
+     * @param subCommands   Subcommands, their command is relative to the group
+     */
+    public CommandGroup(String command, Permission permission, Command... subCommands) {
+
+        this.setCommand(command);
+        this.setName(command);
+        this.setPermission(permission);
+        this.addSubCommand(subCommands);
+    }
+
+    /**
+     * Add subcommands, before the group is registered
+     *
+     * @param subCommands   Subcommands, their command is relative to the group
+     * @return              Returns the group
+     */
+    public CommandGroup add(Command... subCommands) {
+
+        this.addSubCommand(subCommands);
+        return this;
+    }
+
+    /**
+     * Add aliases, the subcommands are reachable from each alias
+     *
+     * @param aliases   Aliases
+     * @return          Returns the group
+     */
+    public CommandGroup alias(String... aliases) {
+
+        this.addAlias(aliases);
+        return this;
+    }
+
+    @Override
+    public void execute(CommandSender sender, CommandParameters parameters) { this.showHelp(sender); }
+
+}
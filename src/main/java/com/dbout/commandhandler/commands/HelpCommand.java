@@ -0,0 +1,48 @@
+package com.dbout.commandhandler.commands;
+
+import com.dbout.commandhandler.Command;
+import com.dbout.commandhandler.CommandHandler;
+import com.dbout.commandhandler.CommandParameters;
+import org.bukkit.command.CommandSender;
+import org.bukkit.permissions.Permission;
+
+/**
+ * HelpCommand
+ * Shows a page of the commands that the sender can run
+ * ie: handler.registerCommand(new HelpCommand(handler, "help [:page<int>=1]", null));
+ * https://github.com/dimitriBouteille/command-handler
+ *
+ * @author  Dimitri BOUTEILLE <bonjour@dimitri-bouteille.fr>
+ * @version 1.0
+ */
+public class HelpCommand extends Command {
+
+    /**
+     * Handler whose commands are shown
+     */
+    private final CommandHandler handler;
+
+    /**
+     * Constructor
+     *
+     * @param handler       Handler whose commands are shown
+     * @param command       Command, ie: help [:page<int>=1], the first parameter is the page
+     * @param permission    Permission to show the help, null for everybody
+     */
+    public HelpCommand(CommandHandler handler, String command, Permission permission) {
+
+        this.handler = handler;
+        this.setCommand(command);
+        this.setName("Help");
+        this.setDescription("Shows the commands you can run");
+        this.setPermission(permission);
+    }
+
+    @Override
+    public void execute(CommandSender sender, CommandParameters parameters) {
+
+        int page = parameters.size() > 0 ? parameters.getInt(0) : 1;
+        sender.sendMessage(this.handler.getHelpIndex().getPage(sender, page));
+    }
+
+}
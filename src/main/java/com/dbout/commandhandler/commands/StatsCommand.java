@@ -0,0 +1,101 @@
+package com.dbout.commandhandler.commands;
+
+import com.dbout.commandhandler.Command;
+import com.dbout.commandhandler.CommandHandler;
+import com.dbout.commandhandler.CommandMetrics;
+import com.dbout.commandhandler.CommandParameters;
+import com.dbout.commandhandler.LatencyHistogram;
+import org.bukkit.ChatColor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.permissions.Permission;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * StatsCommand
+ * Shows the commands that spend the most time in execute()
+ * ie: handler.registerCommand(new StatsCommand(handler, "cmdstats", new Permission("myplugin.stats")));
+ * https://github.com/dimitriBouteille/command-handler
+ *
+ * @author  Dimitri BOUTEILLE <bonjour@dimitri-bouteille.fr>
+ * @version 1.0
+ */
+public class StatsCommand extends Command {
+
+    /**
+     * Number of commands shown
+     */
+    private static final int LIMIT = 10;
+
+    /**
+     * Handler whose commands are shown
+     */
+    private final CommandHandler handler;
+
+    /**
+     * Constructor
+     *
+     * @param handler       Handler whose commands are shown
+     * @param command       Command, ie: cmdstats
+     * @param permission    Permission to show the statistics, null for everybody
+     */
+    public StatsCommand(CommandHandler handler, String command, Permission permission) {
+
+        this.handler = handler;
+        this.setCommand(command);
+        this.setName("Command statistics");
+        this.setDescription("Shows the commands that spend the most time in execute()");
+        this.setPermission(permission);
+    }
+
+    @Override
+    public void execute(CommandSender sender, CommandParameters parameters) {
+
+        List<Command> commands = new ArrayList<>(this.handler.getCommands());
+        commands.sort(Comparator.comparingLong((Command command) -> command.getMetrics().getExecuteLatency().getTotal()).reversed());
+
+        List<String> lines = new ArrayList<>();
+        lines.add(ChatColor.YELLOW + "-- Command statistics --");
+        lines.add(ChatColor.GRAY + "Misses: " + this.handler.getMisses()
+                + " (" + this.handler.getUnknownLabelMisses() + " unknown label, " + this.handler.getMismatchMisses() + " mismatch)"
+                + ", mean search " + formatNanos(this.handler.getMissLatency().getMean()));
+
+        for(int i = 0; i < commands.size() && i < LIMIT; i++) {
+
+            Command command = commands.get(i);
+            CommandMetrics metrics = command.getMetrics();
+            LatencyHistogram execute = metrics.getExecuteLatency();
+            lines.add(ChatColor.GREEN + "/" + command.getCommandBase() + ChatColor.WHITE
+                    + " total " + formatNanos(execute.getTotal())
+                    + ", p50 " + formatNanos(execute.getPercentile(50))
+                    + ", p99 " + formatNanos(execute.getPercentile(99))
+                    + ", search " + formatNanos(metrics.getMatchLatency().getMean())
+                    + ChatColor.GRAY + " (" + metrics.getMatches() + " matches, "
+                    + metrics.getHelpRequests() + " help, "
+                    + metrics.getSenderRejections() + " sender, "
+                    + metrics.getPermissionDenials() + " permission, "
+                    + metrics.getRateLimited() + " rate limited)");
+        }
+
+        sender.sendMessage(lines.toArray(new String[0]));
+    }
+
+    /**
+     * @param nanos Duration in nanoseconds
+     * @return      Returns the duration with a readable unit, ie: 1.5ms
+     */
+    private static String formatNanos(long nanos) {
+
+        if(nanos >= 1_000_000_000L) {
+            return String.format("%.1fs", nanos / 1e9);
+        } else if(nanos >= 1_000_000L) {
+            return String.format("%.1fms", nanos / 1e6);
+        } else if(nanos >= 1_000L) {
+            return String.format("%.1fµs", nanos / 1e3);
+        }
+
+        return nanos + "ns";
+    }
+
+}
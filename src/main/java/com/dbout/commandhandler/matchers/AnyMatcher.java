@@ -0,0 +1,30 @@
+package com.dbout.commandhandler.matchers;
+
+/**
+ * AnyMatcher
+ * Matches any non-empty token
+ * https://github.com/dimitriBouteille/command-handler
+ *
+ * @author  Dimitri BOUTEILLE <bonjour@dimitri-bouteille.fr>
+ * @version 1.0
+ */
+public final class AnyMatcher implements ParameterMatcher {
+
+    /**
+     * Shared instance, the matcher has no state
+     */
+    public static final AnyMatcher INSTANCE = new AnyMatcher();
+
+    private AnyMatcher() {}
+
+    /**
+     * @param token Token of the executed command
+     * @return      Returns true if the token is not empty
+     */
+    @Override
+    public boolean matches(String token) {
+
+        return !token.isEmpty();
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.dbout.commandhandler.matchers;
+
+/**
+ * BooleanMatcher
+ * Matches true/false, yes/no and on/off, case insensitive
+ * https://github.com/dimitriBouteille/command-handler
+ *
+ * @author  Dimitri BOUTEILLE <bonjour@dimitri-bouteille.fr>
+ * @version 1.0
+ */
+public final class BooleanMatcher implements ParameterMatcher {
+
+    /**
+     * Shared instance, the matcher has no state
+     */
+    public static final BooleanMatcher INSTANCE = new BooleanMatcher();
+
+    private BooleanMatcher() {}
+
+    /**
+     * @param token Token of the executed command
+     * @return      Returns true if the token is a boolean value
+     */
+    @Override
+    public boolean matches(String token) {
+
+        return isTrue(token) || isFalse(token);
+    }
+
+    /**
+     * @param token Token of the executed command
+     * @return      Returns true if the token is true, yes or on
+     */
+    public static boolean isTrue(String token) {
+
+        return token.equalsIgnoreCase("true") || token.equalsIgnoreCase("yes") || token.equalsIgnoreCase("on");
+    }
+
+    /**
+     * @param token Token of the executed command
+     * @return      Returns true if the token is false, no or off
+     */
+    public static boolean isFalse(String token) {
+
+        return token.equalsIgnoreCase("false") || token.equalsIgnoreCase("no") || token.equalsIgnoreCase("off");
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.dbout.commandhandler.matchers;
+
+/**
+ * DoubleMatcher
+ * Matches a decimal number
+ * ie: 12, -3.5, .25
+ * https://github.com/dimitriBouteille/command-handler
+ *
+ * @author  Dimitri BOUTEILLE <bonjour@dimitri-bouteille.fr>
+ * @version 1.0
+ */
+public final class DoubleMatcher implements ParameterMatcher {
+
+    /**
+     * Shared instance, the matcher has no state
+     */
+    public static final DoubleMatcher INSTANCE = new DoubleMatcher();
+
+    /**
+     * Longest token accepted, a double has about 17 significant digits
+     */
+    private static final int MAX_LENGTH = 32;
+
+    private DoubleMatcher() {}
+
+    /**
+     * @param token Token of the executed command
+     * @return      Returns true if the token is a decimal number
+     */
+    @Override
+    public boolean matches(String token) {
+
+        int length = token.length();
+        if(length > MAX_LENGTH) {
+            return false;
+        }
+
+        int i = length > 0 && (token.charAt(0) == '-' || token.charAt(0) == '+') ? 1 : 0;
+        boolean digits = false;
+        boolean dot = false;
+        for(; i < length; i++) {
+            char c = token.charAt(i);
+            if(c >= '0' && c <= '9') {
+                digits = true;
+            } else if(c == '.' && !dot) {
+                dot = true;
+            } else {
+                return false;
+            }
+        }
+
+        return digits;
+    }
+
+}
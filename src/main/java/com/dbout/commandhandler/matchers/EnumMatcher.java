@@ -0,0 +1,81 @@
+package com.dbout.commandhandler.matchers;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * EnumMatcher
+ * Matches the name of an enum constant, case insensitive
+ * https://github.com/dimitriBouteille/command-handler
+ *
+ * @author  Dimitri BOUTEILLE <bonjour@dimitri-bouteille.fr>
+ * @version 1.0
+ */
+public final class EnumMatcher implements ParameterMatcher {
+
+    /**
+     * Enum constants
+     */
+    private final Enum<?>[] constants;
+
+    /**
+     * Lower case names of the constants, sorted
+     */
+    private final String[] names;
+
+    /**
+     * Constructor
+     *
+     * @param enumType  Enum class
+     */
+    public EnumMatcher(Class<? extends Enum<?>> enumType) {
+
+        this.constants = enumType.getEnumConstants();
+        this.names = new String[this.constants.length];
+        for(int i = 0; i < this.constants.length; i++) {
+            this.names[i] = this.constants[i].name().toLowerCase(Locale.ROOT);
+        }
+
+        Arrays.sort(this.names);
+    }
+
+    /**
+     * @param token Token of the executed command
+     * @return      Returns true if the token is the name of a constant
+     */
+    @Override
+    public boolean matches(String token) {
+
+        return this.find(token) != null;
+    }
+
+    /**
+     * Search the constant of a token
+     *
+     * @param token Token of the executed command
+     * @return      Returns the constant or null
+     */
+    public Enum<?> find(String token) {
+
+        for(Enum<?> constant : this.constants) {
+            if(constant.name().equalsIgnoreCase(token)) {
+                return constant;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * @return  Returns the enum constants
+     */
+    public Enum<?>[] getConstants() { return this.constants.clone(); }
+
+    /**
+     * /!\ The array is shared and must not be modified
+     *
+     * @return  Returns the lower case names of the constants, sorted
+     */
+    public String[] getNames() { return this.names; }
+
+}
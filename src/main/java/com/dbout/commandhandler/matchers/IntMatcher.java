@@ -0,0 +1,47 @@
+package com.dbout.commandhandler.matchers;
+
+/**
+ * IntMatcher
+ * Matches an integer between Integer.MIN_VALUE and Integer.MAX_VALUE
+ * https://github.com/dimitriBouteille/command-handler
+ *
+ * @author  Dimitri BOUTEILLE <bonjour@dimitri-bouteille.fr>
+ * @version 1.0
+ */
+public final class IntMatcher implements ParameterMatcher {
+
+    /**
+     * Shared instance, the matcher has no state
+     */
+    public static final IntMatcher INSTANCE = new IntMatcher();
+
+    private IntMatcher() {}
+
+    /**
+     * @param token Token of the executed command
+     * @return      Returns true if the token is an integer that fits in an int
+     */
+    @Override
+    public boolean matches(String token) {
+
+        int length = token.length();
+        int start = length > 0 && token.charAt(0) == '-' ? 1 : 0;
+        if(length == start || length - start > 10) {
+            return false;
+        }
+
+        // Accumulate as negative to accept Integer.MIN_VALUE
+        long value = 0;
+        for(int i = start; i < length; i++) {
+            char c = token.charAt(i);
+            if(c < '0' || c > '9') {
+                return false;
+            }
+
+            value = value * 10 - (c - '0');
+        }
+
+        return start == 1 ? value >= Integer.MIN_VALUE : -value <= Integer.MAX_VALUE;
+    }
+
+}
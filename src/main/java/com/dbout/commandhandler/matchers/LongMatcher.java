@@ -0,0 +1,63 @@
+package com.dbout.commandhandler.matchers;
+
+/**
+ * LongMatcher
+ * Matches an integer between Long.MIN_VALUE and Long.MAX_VALUE
+ * https://github.com/dimitriBouteille/command-handler
+ *
+ * @author  Dimitri BOUTEILLE <bonjour@dimitri-bouteille.fr>
+ * @version 1.0
+ */
+public final class LongMatcher implements ParameterMatcher {
+
+    /**
+     * Shared instance, the matcher has no state
+     */
+    public static final LongMatcher INSTANCE = new LongMatcher();
+
+    /**
+     * Digits of Long.MAX_VALUE, used when the token has the same length
+     */
+    private static final String MAX = "9223372036854775807";
+
+    private LongMatcher() {}
+
+    /**
+     * @param token Token of the executed command
+     * @return      Returns true if the token is an integer that fits in a long
+     */
+    @Override
+    public boolean matches(String token) {
+
+        int length = token.length();
+        int start = length > 0 && token.charAt(0) == '-' ? 1 : 0;
+        int digits = length - start;
+        if(digits == 0 || digits > MAX.length()) {
+            return false;
+        }
+
+        for(int i = start; i < length; i++) {
+            char c = token.charAt(i);
+            if(c < '0' || c > '9') {
+                return false;
+            }
+        }
+
+        if(digits < MAX.length()) {
+            return true;
+        }
+
+        // Same number of digits as the bound, compare them one by one
+        // The negative bound ends with 8 instead of 7
+        for(int i = 0; i < digits; i++) {
+            char bound = (start == 1 && i == digits - 1) ? '8' : MAX.charAt(i);
+            char c = token.charAt(start + i);
+            if(c != bound) {
+                return c < bound;
+            }
+        }
+
+        return true;
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.dbout.commandhandler.matchers;
+
+/**
+ * ParameterMatcher
+ * Checks a single token of an executed command
+ * https://github.com/dimitriBouteille/command-handler
+ *
+ * @author  Dimitri BOUTEILLE <bonjour@dimitri-bouteille.fr>
+ * @version 1.0
+ */
+public interface ParameterMatcher {
+
+    /**
+     * Checks if a token can be used as the parameter value
+     *
+     * @param token Token of the executed command
+     * @return      Returns true if the token matches or false
+     */
+    boolean matches(String token);
+
+}
@@ -0,0 +1,792 @@
+package com.dbout.commandhandler.matchers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * PatternMatcher
+ * Matches the whole token against a pattern declared in the command, ie: :code([a-z]{3}\d+)
+ * The pattern is compiled into a Thompson NFA and simulated state set by state set,
+ * the time is bounded by token length * pattern size whatever the token
+ * Supported: literals, . [...] [^...] \d \w \s \D \W \S, groups (...) (?:...), |, * + ? {n} {n,} {n,m}
+ * Rejected: backreferences, lookarounds, possessive quantifiers and any other construct that needs backtracking
+ * https://github.com/dimitriBouteille/command-handler
+ *
+ * @author  Dimitri BOUTEILLE <bonjour@dimitri-bouteille.fr>
+ * @version 1.0
+ */
+public final class PatternMatcher implements ParameterMatcher {
+
+    /**
+     * Maximum number of instructions, bounds the memory and the time by character
+     */
+    public static final int MAX_PROGRAM_SIZE = 2000;
+
+    /**
+     * Maximum value of a counted repetition, ie: {100}
+     */
+    public static final int MAX_REPEAT = 100;
+
+    private static final int CHAR = 0;
+
+    private static final int ANY = 1;
+
+    private static final int CLASS = 2;
+
+    private static final int SPLIT = 3;
+
+    private static final int JUMP = 4;
+
+    private static final int MATCH = 5;
+
+    /**
+     * Work arrays of the simulation, reused by the matchers of a thread
+     */
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    /**
+     * Pattern as declared
+     */
+    private final String pattern;
+
+    /**
+     * Instruction codes
+     */
+    private final int[] codes;
+
+    /**
+     * Character of CHAR, index of the class of CLASS, first target of SPLIT, target of JUMP
+     */
+    private final int[] args;
+
+    /**
+     * Second target of SPLIT
+     */
+    private final int[] alternatives;
+
+    /**
+     * Character classes used by CLASS
+     */
+    private final CharClass[] classes;
+
+    /**
+     * Constructor
+     *
+     * @param pattern   Pattern
+     * @throws IllegalArgumentException Exception if the pattern is invalid or not supported
+     */
+    public PatternMatcher(String pattern) {
+
+        this.pattern = pattern;
+
+        Parser parser = new Parser(pattern);
+        Node root = parser.parse();
+
+        Program program = new Program();
+        root.emit(program);
+        program.add(MATCH, 0, 0);
+
+        this.codes = Arrays.copyOf(program.codes, program.size);
+        this.args = Arrays.copyOf(program.args, program.size);
+        this.alternatives = Arrays.copyOf(program.alternatives, program.size);
+        this.classes = program.classes.toArray(new CharClass[0]);
+    }
+
+    /**
+     * @return  Returns the pattern as declared
+     */
+    public String getPattern() { return this.pattern; }
+
+    /**
+     * @param token Token of the executed command
+     * @return      Returns true if the whole token matches the pattern
+     */
+    @Override
+    public boolean matches(String token) {
+
+        Scratch scratch = SCRATCH.get();
+        scratch.ensureCapacity(this.codes.length);
+        int[] current = scratch.current;
+        int[] next = scratch.next;
+        int[] stack = scratch.stack;
+
+        // Step at which each instruction was added, an instruction is added once by step
+        // The steps of a call follow the steps of the previous call, the array is not cleared
+        int[] added = scratch.added;
+        int step = scratch.nextSteps(token.length() + 1);
+
+        int currentCount = this.addState(current, 0, 0, added, step, stack);
+        for(int i = 0; i < token.length() && currentCount > 0; i++) {
+
+            char c = token.charAt(i);
+            int nextCount = 0;
+            for(int j = 0; j < currentCount; j++) {
+                int pc = current[j];
+                if(this.accepts(pc, c)) {
+                    nextCount = this.addState(next, nextCount, pc + 1, added, step + i + 1, stack);
+                }
+            }
+
+            int[] swap = current;
+            current = next;
+            next = swap;
+            currentCount = nextCount;
+        }
+
+        for(int j = 0; j < currentCount; j++) {
+            if(this.codes[current[j]] == MATCH) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * @param pc    Instruction
+     * @param c     Character
+     * @return      Returns true if the instruction consumes the character
+     */
+    private boolean accepts(int pc, char c) {
+
+        switch (this.codes[pc]) {
+            case CHAR:
+                return this.args[pc] == c;
+            case ANY:
+                return true;
+            case CLASS:
+                return this.classes[this.args[pc]].contains(c);
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Add an instruction and the instructions reachable without consuming a character
+     *
+     * @param list  State list
+     * @param count Number of states in the list
+     * @param start Instruction
+     * @param added Step at which each instruction was added
+     * @param step  Current step
+     * @param stack Work stack
+     * @return      Returns the new number of states in the list
+     */
+    private int addState(int[] list, int count, int start, int[] added, int step, int[] stack) {
+
+        int top = 0;
+        stack[top++] = start;
+        while (top > 0) {
+
+            int pc = stack[--top];
+            if(added[pc] == step) {
+                continue;
+            }
+
+            added[pc] = step;
+            switch (this.codes[pc]) {
+                case JUMP:
+                    stack[top++] = this.args[pc];
+                    break;
+                case SPLIT:
+
+                    // The second target is pushed first, the first target is followed first
+                    stack[top++] = this.alternatives[pc];
+                    stack[top++] = this.args[pc];
+                    break;
+                default:
+                    list[count++] = pc;
+            }
+        }
+
+        return count;
+    }
+
+    @Override
+    public String toString() { return this.pattern; }
+
+    /**
+     * Instructions being emitted
+     */
+    private static final class Program {
+
+        private int[] codes = new int[16];
+
+        private int[] args = new int[16];
+
+        private int[] alternatives = new int[16];
+
+        private int size = 0;
+
+        private final List<CharClass> classes = new ArrayList<>();
+
+        /**
+         * @return  Returns the index of the added instruction
+         */
+        private int add(int code, int arg, int alternative) {
+
+            if(this.size == MAX_PROGRAM_SIZE) {
+                throw new IllegalArgumentException(String.format("The pattern is too large, the limit is %d instructions.", MAX_PROGRAM_SIZE));
+            }
+
+            if(this.size == this.codes.length) {
+                this.codes = Arrays.copyOf(this.codes, this.size * 2);
+                this.args = Arrays.copyOf(this.args, this.size * 2);
+                this.alternatives = Arrays.copyOf(this.alternatives, this.size * 2);
+            }
+
+            this.codes[this.size] = code;
+            this.args[this.size] = arg;
+            this.alternatives[this.size] = alternative;
+            return this.size++;
+        }
+
+    }
+
+    /**
+     * Node of the parsed pattern
+     */
+    private interface Node {
+
+        /**
+         * Emit the instructions of the node at the end of the program
+         *
+         * @param program   Program
+         */
+        void emit(Program program);
+
+    }
+
+    /**
+     * Single character, any character or character class
+     */
+    private static final class Atom implements Node {
+
+        private final int code;
+
+        private final char c;
+
+        private final CharClass charClass;
+
+        private Atom(int code, char c, CharClass charClass) {
+
+            this.code = code;
+            this.c = c;
+            this.charClass = charClass;
+        }
+
+        @Override
+        public void emit(Program program) {
+
+            if(this.code == CLASS) {
+                program.classes.add(this.charClass);
+                program.add(CLASS, program.classes.size() - 1, 0);
+            } else {
+                program.add(this.code, this.c, 0);
+            }
+        }
+
+    }
+
+    /**
+     * Nodes one after the other
+     */
+    private static final class Concat implements Node {
+
+        private final List<Node> nodes;
+
+        private Concat(List<Node> nodes) { this.nodes = nodes; }
+
+        @Override
+        public void emit(Program program) {
+
+            for(Node node : this.nodes) {
+                node.emit(program);
+            }
+        }
+
+    }
+
+    /**
+     * One of the nodes
+     */
+    private static final class Alternation implements Node {
+
+        private final List<Node> nodes;
+
+        private Alternation(List<Node> nodes) { this.nodes = nodes; }
+
+        @Override
+        public void emit(Program program) {
+
+            // split L1, next ; L1: node ; jump end ; next: ...
+            List<Integer> jumps = new ArrayList<>();
+            for(int i = 0; i < this.nodes.size() - 1; i++) {
+                int split = program.add(SPLIT, 0, 0);
+                program.args[split] = program.size;
+                this.nodes.get(i).emit(program);
+                jumps.add(program.add(JUMP, 0, 0));
+                program.alternatives[split] = program.size;
+            }
+
+            this.nodes.get(this.nodes.size() - 1).emit(program);
+            for(int jump : jumps) {
+                program.args[jump] = program.size;
+            }
+        }
+
+    }
+
+    /**
+     * Node repeated between min and max times, max < 0 for no limit
+     */
+    private static final class Repeat implements Node {
+
+        private final Node node;
+
+        private final int min;
+
+        private final int max;
+
+        private Repeat(Node node, int min, int max) {
+
+            this.node = node;
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        public void emit(Program program) {
+
+            for(int i = 0; i < this.min; i++) {
+                this.node.emit(program);
+            }
+
+            if(this.max < 0) {
+
+                // L1: split L2, end ; L2: node ; jump L1 ; end:
+                int split = program.add(SPLIT, 0, 0);
+                program.args[split] = program.size;
+                this.node.emit(program);
+                program.add(JUMP, split, 0);
+                program.alternatives[split] = program.size;
+                return;
+            }
+
+            // Each optional occurrence: split L1, end ; L1: node
+            List<Integer> splits = new ArrayList<>();
+            for(int i = this.min; i < this.max; i++) {
+                int split = program.add(SPLIT, 0, 0);
+                program.args[split] = program.size;
+                splits.add(split);
+                this.node.emit(program);
+            }
+
+            for(int split : splits) {
+                program.alternatives[split] = program.size;
+            }
+        }
+
+    }
+
+    /**
+     * Ranges of characters
+     */
+    private static final class CharClass {
+
+        /**
+         * Pairs of first and last characters
+         */
+        private final char[] ranges;
+
+        private final boolean negated;
+
+        private CharClass(char[] ranges, boolean negated) {
+
+            this.ranges = ranges;
+            this.negated = negated;
+        }
+
+        private boolean contains(char c) {
+
+            for(int i = 0; i < this.ranges.length; i += 2) {
+                if(c >= this.ranges[i] && c <= this.ranges[i + 1]) {
+                    return !this.negated;
+                }
+            }
+
+            return this.negated;
+        }
+
+    }
+
+    /**
+     * Recursive descent parser of the pattern
+     */
+    private static final class Parser {
+
+        private static final char[] DIGITS = {'0', '9'};
+
+        private static final char[] WORDS = {'a', 'z', 'A', 'Z', '0', '9', '_', '_'};
+
+        private static final char[] SPACES = {' ', ' ', '\t', '\r', '\f', '\f', '\u000B', '\u000B'};
+
+        private final String pattern;
+
+        private int position = 0;
+
+        private int depth = 0;
+
+        private Parser(String pattern) { this.pattern = pattern; }
+
+        private Node parse() {
+
+            if(this.pattern.isEmpty()) {
+                throw this.error("The pattern is empty");
+            }
+
+            Node node = this.parseAlternation();
+            if(this.position < this.pattern.length()) {
+                throw this.error("Unexpected ')'");
+            }
+
+            return node;
+        }
+
+        private Node parseAlternation() {
+
+            List<Node> nodes = new ArrayList<>();
+            nodes.add(this.parseConcat());
+            while (this.peek() == '|') {
+                this.position++;
+                nodes.add(this.parseConcat());
+            }
+
+            return nodes.size() == 1 ? nodes.get(0) : new Alternation(nodes);
+        }
+
+        private Node parseConcat() {
+
+            List<Node> nodes = new ArrayList<>();
+            while (this.position < this.pattern.length() && this.peek() != '|' && this.peek() != ')') {
+                nodes.add(this.parseQuantified());
+            }
+
+            return new Concat(nodes);
+        }
+
+        private Node parseQuantified() {
+
+            Node node = this.parseAtom();
+            while (this.position < this.pattern.length()) {
+
+                char c = this.peek();
+                int min;
+                int max;
+                if(c == '*') {
+                    min = 0;
+                    max = -1;
+                    this.position++;
+                } else if(c == '+') {
+                    min = 1;
+                    max = -1;
+                    this.position++;
+                } else if(c == '?') {
+                    min = 0;
+                    max = 1;
+                    this.position++;
+                } else if(c == '{') {
+                    int[] bounds = this.parseBounds();
+                    min = bounds[0];
+                    max = bounds[1];
+                } else {
+                    break;
+                }
+
+                // A lazy quantifier gives the same result on a whole token match, a possessive one needs backtracking
+                if(this.peek() == '?') {
+                    this.position++;
+                } else if(this.peek() == '+') {
+                    throw this.error("Possessive quantifiers are not supported");
+                }
+
+                node = new Repeat(node, min, max);
+            }
+
+            return node;
+        }
+
+        private int[] parseBounds() {
+
+            int start = this.position++;
+            int min = this.parseNumber();
+            int max = min;
+            if(this.peek() == ',') {
+                this.position++;
+                max = this.peek() == '}' ? -1 : this.parseNumber();
+            }
+
+            if(this.peek() != '}') {
+                throw this.error("Invalid repetition " + this.pattern.substring(start, Math.min(this.position + 1, this.pattern.length())));
+            }
+
+            this.position++;
+            if(min > MAX_REPEAT || max > MAX_REPEAT || (max >= 0 && max < min)) {
+                throw this.error(String.format("Invalid repetition, the bounds must be between 0 and %d", MAX_REPEAT));
+            }
+
+            return new int[] {min, max};
+        }
+
+        private int parseNumber() {
+
+            int start = this.position;
+            while (this.position < this.pattern.length() && Character.isDigit(this.peek()) && this.position - start < 4) {
+                this.position++;
+            }
+
+            if(start == this.position) {
+                throw this.error("A number is expected");
+            }
+
+            return Integer.parseInt(this.pattern.substring(start, this.position));
+        }
+
+        private Node parseAtom() {
+
+            char c = this.pattern.charAt(this.position++);
+            switch (c) {
+                case '(':
+                    if(this.pattern.startsWith("?:", this.position)) {
+                        this.position += 2;
+                    } else if(this.peek() == '?') {
+                        throw this.error("Lookarounds and flags are not supported");
+                    }
+
+                    if(++this.depth > 32) {
+                        throw this.error("Too many nested groups");
+                    }
+
+                    Node node = this.parseAlternation();
+                    if(this.peek() != ')') {
+                        throw this.error("Missing ')'");
+                    }
+
+                    this.position++;
+                    this.depth--;
+                    return node;
+                case '[':
+                    return new Atom(CLASS, c, this.parseClass());
+                case '.':
+                    return new Atom(ANY, c, null);
+                case '\\':
+                    return this.parseEscape();
+                case '*':
+                case '+':
+                case '?':
+                case '{':
+                    throw this.error("Nothing to repeat before '" + c + "'");
+                case '^':
+                case '$':
+                    throw this.error("Anchors are not needed, the whole token is matched");
+                default:
+                    return new Atom(CHAR, c, null);
+            }
+        }
+
+        private Node parseEscape() {
+
+            if(this.position >= this.pattern.length()) {
+                throw this.error("Trailing '\\'");
+            }
+
+            char c = this.pattern.charAt(this.position++);
+            CharClass predefined = this.predefined(c);
+            if(predefined != null) {
+                return new Atom(CLASS, c, predefined);
+            }
+
+            return new Atom(CHAR, this.escaped(c), null);
+        }
+
+        private CharClass parseClass() {
+
+            boolean negated = false;
+            if(this.peek() == '^') {
+                negated = true;
+                this.position++;
+            }
+
+            StringBuilder ranges = new StringBuilder();
+            boolean first = true;
+            while (true) {
+
+                if(this.position >= this.pattern.length()) {
+                    throw this.error("Missing ']'");
+                }
+
+                char c = this.pattern.charAt(this.position++);
+                if(c == ']' && !first) {
+                    break;
+                }
+
+                first = false;
+                if(c == '[') {
+                    throw this.error("Nested classes are not supported");
+                }
+
+                if(c == '\\') {
+                    if(this.position >= this.pattern.length()) {
+                        throw this.error("Trailing '\\'");
+                    }
+
+                    char escaped = this.pattern.charAt(this.position++);
+                    CharClass predefined = this.predefined(escaped);
+                    if(predefined != null) {
+                        if(predefined.negated) {
+                            throw this.error("Negated classes are not supported in a class");
+                        }
+
+                        ranges.append(predefined.ranges);
+                        continue;
+                    }
+
+                    c = this.escaped(escaped);
+                }
+
+                char last = c;
+                if(this.peek() == '-' && this.position + 1 < this.pattern.length() && this.pattern.charAt(this.position + 1) != ']') {
+                    this.position++;
+                    last = this.pattern.charAt(this.position++);
+                    if(last == '\\') {
+                        if(this.position >= this.pattern.length()) {
+                            throw this.error("Trailing '\\'");
+                        }
+
+                        last = this.escaped(this.pattern.charAt(this.position++));
+                    }
+
+                    if(last < c) {
+                        throw this.error("Invalid range " + c + "-" + last);
+                    }
+                }
+
+                ranges.append(c).append(last);
+            }
+
+            return new CharClass(ranges.toString().toCharArray(), negated);
+        }
+
+        /**
+         * @param c Character after \
+         * @return  Returns the class of \d \w \s \D \W \S or null
+         */
+        private CharClass predefined(char c) {
+
+            switch (c) {
+                case 'd':
+                    return new CharClass(DIGITS, false);
+                case 'D':
+                    return new CharClass(DIGITS, true);
+                case 'w':
+                    return new CharClass(WORDS, false);
+                case 'W':
+                    return new CharClass(WORDS, true);
+                case 's':
+                    return new CharClass(SPACES, false);
+                case 'S':
+                    return new CharClass(SPACES, true);
+                default:
+                    return null;
+            }
+        }
+
+        /**
+         * @param c Character after \
+         * @return  Returns the character matched by the escape sequence
+         */
+        private char escaped(char c) {
+
+            if(c >= '0' && c <= '9') {
+                throw this.error("Backreferences are not supported");
+            }
+
+            switch (c) {
+                case 't':
+                    return '\t';
+                case 'n':
+                    return '\n';
+                case 'r':
+                    return '\r';
+                case 'f':
+                    return '\f';
+                default:
+                    if(Character.isLetter(c)) {
+                        throw this.error("Unsupported escape sequence \\" + c);
+                    }
+
+                    return c;
+            }
+        }
+
+        private char peek() {
+
+            return this.position < this.pattern.length() ? this.pattern.charAt(this.position) : '\0';
+        }
+
+        private IllegalArgumentException error(String message) {
+
+            return new IllegalArgumentException(String.format("%s in the pattern [%s] at index %d.", message, this.pattern, this.position));
+        }
+
+    }
+
+    /**
+     * Work arrays of a thread, sized for the largest program matched by the thread
+     */
+    private static final class Scratch {
+
+        private int[] current = new int[0];
+
+        private int[] next = new int[0];
+
+        private int[] stack = new int[1];
+
+        private int[] added = new int[0];
+
+        /**
+         * First step of the next call, the steps already used are in added
+         */
+        private int step = 1;
+
+        private void ensureCapacity(int size) {
+
+            if(this.current.length < size) {
+                this.current = new int[size];
+                this.next = new int[size];
+                this.stack = new int[size * 2 + 1];
+                this.added = new int[size];
+                this.step = 1;
+            }
+        }
+
+        /**
+         * @param count Number of steps of the call
+         * @return      Returns the first step of the call
+         */
+        private int nextSteps(int count) {
+
+            if(this.step > Integer.MAX_VALUE - count) {
+                Arrays.fill(this.added, 0);
+                this.step = 1;
+            }
+
+            int first = this.step;
+            this.step += count;
+            return first;
+        }
+
+    }
+
+}
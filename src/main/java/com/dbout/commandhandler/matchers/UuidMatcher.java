@@ -0,0 +1,46 @@
+package com.dbout.commandhandler.matchers;
+
+/**
+ * UuidMatcher
+ * Matches a UUID in its canonical form
+ * ie: 069a79f4-44e9-4726-a5be-fca90e38aaf5
+ * https://github.com/dimitriBouteille/command-handler
+ *
+ * @author  Dimitri BOUTEILLE <bonjour@dimitri-bouteille.fr>
+ * @version 1.0
+ */
+public final class UuidMatcher implements ParameterMatcher {
+
+    /**
+     * Shared instance, the matcher has no state
+     */
+    public static final UuidMatcher INSTANCE = new UuidMatcher();
+
+    private UuidMatcher() {}
+
+    /**
+     * @param token Token of the executed command
+     * @return      Returns true if the token is a UUID 8-4-4-4-12
+     */
+    @Override
+    public boolean matches(String token) {
+
+        if(token.length() != 36) {
+            return false;
+        }
+
+        for(int i = 0; i < 36; i++) {
+            char c = token.charAt(i);
+            if(i == 8 || i == 13 || i == 18 || i == 23) {
+                if(c != '-') {
+                    return false;
+                }
+            } else if(!((c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F'))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+}
@@ -0,0 +1,50 @@
+package com.dbout.commandhandler.matchers;
+
+/**
+ * WordMatcher
+ * Matches a word, same as the regex [\w]+
+ * https://github.com/dimitriBouteille/command-handler
+ *
+ * @author  Dimitri BOUTEILLE <bonjour@dimitri-bouteille.fr>
+ * @version 1.0
+ */
+public final class WordMatcher implements ParameterMatcher {
+
+    /**
+     * Shared instance, the matcher has no state
+     */
+    public static final WordMatcher INSTANCE = new WordMatcher();
+
+    private WordMatcher() {}
+
+    /**
+     * @param token Token of the executed command
+     * @return      Returns true if the token only contains letters, digits or _
+     */
+    @Override
+    public boolean matches(String token) {
+
+        int length = token.length();
+        if(length == 0) {
+            return false;
+        }
+
+        for(int i = 0; i < length; i++) {
+            if(!isWordCharacter(token.charAt(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * @param c Character
+     * @return  Returns true if the character matches [\w]
+     */
+    public static boolean isWordCharacter(char c) {
+
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+}
@@ -0,0 +1,201 @@
+package com.dbout.commandhandler;
+
+import com.dbout.commandhandler.exceptions.AliasAlreadyExist;
+import com.dbout.commandhandler.exceptions.CommandAlreadyExist;
+import com.dbout.commandhandler.exceptions.CommandHandlerException;
+import org.bukkit.command.CommandSender;
+import org.junit.Before;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * CommandHandlerTest
+ * https://github.com/dimitriBouteille/command-handler
+ *
+ * @author  Dimitri BOUTEILLE <bonjour@dimitri-bouteille.fr>
+ * @version 1.0
+ */
+public class CommandHandlerTest {
+
+    /**
+     * Commands executed, ie: warp {name=spawn}
+     */
+    private final List<String> executed = new ArrayList<>();
+
+    private final List<String> messages = new ArrayList<>();
+
+    private CommandHandler handler;
+
+    @Before
+    public void setUp() {
+
+        TestServer.install();
+        this.handler = new CommandHandler();
+    }
+
+    @Test
+    public void registersInBulkThenOneByOne() throws CommandHandlerException {
+
+        List<Command> commands = new ArrayList<>();
+        for(int i = 0; i < 100; i++) {
+            commands.add(this.command("cmd" + i + " give :amount<int>", "c" + i + " give"));
+        }
+
+        this.handler.registerCommands(commands);
+        this.handler.registerCommand(this.command("warp :name", "w"));
+
+        assertEquals(101, this.handler.getCommands().size());
+        this.run("cmd42 give 5");
+        this.run("c99 give 6");
+        this.run("w spawn");
+        assertEquals(Arrays.asList("cmd42 give :amount<int> {amount=5}", "cmd99 give :amount<int> {amount=6}", "warp :name {name=spawn}"), this.executed);
+    }
+
+    @Test
+    public void acceptsTheOverloadsOfABase() throws CommandHandlerException {
+
+        this.handler.registerCommands(Arrays.asList(this.command("tp :x<int> :z<int>"), this.command("tp :player :target")));
+
+        this.run("tp 10 20");
+        this.run("tp bob alice");
+        assertEquals(Arrays.asList("tp :x<int> :z<int> {x=10, z=20}", "tp :player :target {player=bob, target=alice}"), this.executed);
+    }
+
+    @Test
+    public void rejectsACommandAlreadyRegistered() throws CommandHandlerException {
+
+        this.handler.registerCommand(this.command("warp :name"));
+        this.assertConflict(CommandAlreadyExist.class, this.command("warp  :name"));
+    }
+
+    @Test
+    public void rejectsAnAliasUsedByAnotherCommand() throws CommandHandlerException {
+
+        this.handler.registerCommand(this.command("warp :name", "w"));
+        this.handler.registerCommand(this.command("spawn"));
+
+        // Alias of an alias, alias of a base and base of an alias
+        this.assertConflict(AliasAlreadyExist.class, this.command("whisper :target :message...", "w"));
+        this.assertConflict(AliasAlreadyExist.class, this.command("home", "spawn"));
+        this.assertConflict(AliasAlreadyExist.class, this.command("w :x<int>"));
+    }
+
+    @Test
+    public void publishesNothingWhenABatchConflicts() throws CommandHandlerException {
+
+        this.handler.registerCommand(this.command("spawn"));
+
+        // The conflict is between the new commands
+        this.assertConflict(AliasAlreadyExist.class, this.command("warp :name", "w"), this.command("whisper :target", "w"));
+        this.assertConflict(AliasAlreadyExist.class, this.command("home"), this.command("back", "spawn"));
+
+        assertEquals(1, this.handler.getCommands().size());
+        this.run("home");
+        this.run("w spawn");
+        assertEquals(0, this.executed.size());
+
+        // The rejected commands can be registered once fixed
+        this.handler.registerCommand(this.command("home"));
+        this.run("home");
+        assertEquals(Arrays.asList("home {}"), this.executed);
+    }
+
+    @Test
+    public void rejectsAnUnknownLabelBeforeAnyMatcher() throws CommandHandlerException {
+
+        AtomicInteger matches = new AtomicInteger();
+        this.handler.setMetricsEnabled(true);
+        this.handler.registerCommand(new Command() {
+
+            {
+                this.setCommand("warp :name");
+            }
+
+            @Override
+            public CommandMatch match(String base, String[] args, int offset) {
+
+                matches.incrementAndGet();
+                return super.match(base, args, offset);
+            }
+
+            @Override
+            public void execute(CommandSender sender, CommandParameters parameters) {}
+
+        });
+
+        CommandSender sender = TestServer.sender(this.messages);
+        assertFalse(this.handler.dispatch(sender, "teleport", new String[] { "spawn" }, false));
+        assertEquals(0, matches.get());
+        assertEquals(1, this.handler.getUnknownLabelMisses());
+        assertEquals(0, this.handler.getMismatchMisses());
+
+        // The label is known, the arguments are matched
+        assertFalse(this.handler.dispatch(sender, "warp", new String[0], false));
+        assertEquals(1, matches.get());
+        assertEquals(1, this.handler.getMismatchMisses());
+        assertEquals(2, this.handler.getMisses());
+        assertEquals(2, this.handler.getMissLatency().getCount());
+
+        // Nothing is near, nothing is sent
+        this.run("teleport spawn");
+        assertEquals(1, matches.get());
+        assertEquals(Collections.emptyList(), this.messages);
+    }
+
+    @Test
+    public void suggestsTheNearestCommandsOfAnUnknownLabel() throws CommandHandlerException {
+
+        this.handler.registerCommand(this.command("warp :name"));
+
+        assertFalse(this.handler.dispatch(TestServer.sender(this.messages), "wrap", new String[] { "spawn" }, false));
+        assertEquals(Collections.emptyList(), this.messages);
+
+        this.run("wrap spawn");
+        assertEquals(1, this.messages.size());
+        assertTrue(this.messages.get(0).contains("/warp :name"));
+    }
+
+    private void assertConflict(Class<? extends CommandHandlerException> expected, Command... commands) {
+
+        try {
+            this.handler.registerCommands(Arrays.asList(commands));
+            fail(String.format("The commands %s must conflict.", Arrays.toString(commands)));
+        } catch (CommandHandlerException e) {
+            assertTrue(e.getMessage(), expected.isInstance(e));
+        }
+    }
+
+    private void run(String line) {
+
+        String[] tokens = line.split(" ");
+        this.handler.runCommand(TestServer.sender(this.messages), TestServer.label(tokens[0]), Arrays.copyOfRange(tokens, 1, tokens.length));
+    }
+
+    private Command command(String command, String... aliases) {
+
+        return new Command() {
+
+            {
+                this.setCommand(command);
+                this.addAlias(aliases);
+            }
+
+            @Override
+            public void execute(CommandSender sender, CommandParameters parameters) {
+
+                CommandHandlerTest.this.executed.add(command + " " + parameters);
+            }
+
+        };
+    }
+
+}
@@ -0,0 +1,145 @@
+package com.dbout.commandhandler;
+
+import com.dbout.commandhandler.exceptions.CommandHandlerException;
+import org.bukkit.command.CommandSender;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * CommandIndexTest
+ * https://github.com/dimitriBouteille/command-handler
+ *
+ * @author  Dimitri BOUTEILLE <bonjour@dimitri-bouteille.fr>
+ * @version 1.0
+ */
+public class CommandIndexTest {
+
+    private final CommandIndex index = new CommandIndex();
+
+    @Test
+    public void matchesTheLongestLiteralPartFirst() throws CommandHandlerException {
+
+        Command guild = this.add("guild :name");
+        Command create = this.add("guild create :name");
+
+        assertSame(create, this.index.match("guild", new String[] { "create", "dragons" }).getCommand());
+        assertSame(guild, this.index.match("guild", new String[] { "dragons" }).getCommand());
+
+        // Too many arguments for both commands
+        assertNull(this.index.match("guild", new String[] { "create", "dragons", "red" }));
+        assertNull(this.index.match("unknown", new String[] { "dragons" }));
+    }
+
+    @Test
+    public void matchesTheAliases() throws CommandHandlerException {
+
+        Command give = this.add("give :player :amount<int>", "g", "item give");
+
+        CommandMatch match = this.index.match("g", new String[] { "bob", "5" });
+        assertSame(give, match.getCommand());
+        assertTrue(match.isAlias());
+        assertEquals(5, match.getParameters().getInt(1));
+
+        match = this.index.match("item", new String[] { "give", "bob", "5" });
+        assertSame(give, match.getCommand());
+        assertEquals("item give", match.getBase());
+        assertFalse(this.index.match("give", new String[] { "bob", "5" }).isAlias());
+    }
+
+    @Test
+    public void prefersAValidOverload() throws CommandHandlerException {
+
+        Command coordinates = this.add("tp :x<int> :z<int>");
+        Command player = this.add("tp :player :target");
+
+        assertSame(coordinates, this.index.match("tp", new String[] { "10", "20" }).getCommand());
+        assertSame(player, this.index.match("tp", new String[] { "bob", "alice" }).getCommand());
+    }
+
+    @Test
+    public void returnsTheInvalidMatchWithoutValidOverload() throws CommandHandlerException {
+
+        this.add("give :player :amount<int>");
+
+        CommandMatch match = this.index.match("give", new String[] { "bob", "five" });
+        assertFalse(match.isValid());
+        assertEquals("[five] is invalid, amount must be an int.", match.getError());
+    }
+
+    @Test
+    public void matchesTheHelpOfTheLongestLiteralPart() throws CommandHandlerException {
+
+        Command guild = this.add("guild :name");
+        Command create = this.add("guild create :name");
+
+        assertSame(create, this.index.matchHelp("guild", new String[] { "create", "?" }));
+        assertSame(guild, this.index.matchHelp("guild", new String[] { "?" }));
+        assertNull(this.index.matchHelp("guild", new String[] { "create", "dragons", "?" }));
+        assertNull(this.index.matchHelp("guild", new String[] { "create" }));
+        assertNull(this.index.matchHelp("unknown", new String[] { "?" }));
+    }
+
+    @Test
+    public void matchesFromManyThreads() throws Exception {
+
+        this.add("give :player :amount<int>");
+        this.add("guild create :name");
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for(int thread = 0; thread < 8; thread++) {
+                int offset = thread;
+                results.add(executor.submit((Callable<Boolean>)() -> {
+                    for(int i = 0; i < 10000; i++) {
+                        String value = Integer.toString(offset * 10000 + i);
+                        CommandParameters give = this.index.match("give", new String[] { "bob", value }).getParameters();
+                        CommandParameters create = this.index.match("guild", new String[] { "create", value }).getParameters();
+                        if(give.getInt(1) != offset * 10000 + i || !value.equals(create.getString(0))) {
+                            return false;
+                        }
+                    }
+
+                    return true;
+                }));
+            }
+
+            for(Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Command add(String command, String... aliases) throws CommandHandlerException {
+
+        Command instance = new Command() {
+
+            {
+                this.setCommand(command);
+                this.addAlias(aliases);
+            }
+
+            @Override
+            public void execute(CommandSender sender, CommandParameters parameters) {}
+
+        };
+
+        instance.init();
+        this.index.add(instance);
+        return instance;
+    }
+
+}
@@ -0,0 +1,121 @@
+package com.dbout.commandhandler;
+
+import com.dbout.commandhandler.exceptions.CommandHandlerException;
+import com.dbout.commandhandler.exceptions.CommandInvalidFormat;
+import com.dbout.commandhandler.exceptions.ParameterAlreadyExist;
+import org.junit.Test;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * CommandReaderTest
+ * https://github.com/dimitriBouteille/command-handler
+ *
+ * @author  Dimitri BOUTEILLE <bonjour@dimitri-bouteille.fr>
+ * @version 1.0
+ */
+public class CommandReaderTest {
+
+    @Test
+    public void readsTheBaseAndTheParameters() throws CommandHandlerException {
+
+        CommandReader reader = this.read("guild create :name :size<int>([1-9]) [:public<boolean>=true]");
+        assertEquals("guild create", reader.getCommandBase());
+
+        List<CommandParameter> parameters = reader.getParameters();
+        assertEquals(3, parameters.size());
+        assertEquals("name", parameters.get(0).getName());
+        assertEquals(ParameterType.WORD, parameters.get(0).getType());
+        assertEquals(ParameterType.INT, parameters.get(1).getType());
+        assertTrue(parameters.get(1).matches("5"));
+        assertFalse(parameters.get(1).matches("10"));
+        assertTrue(parameters.get(2).isOptional());
+        assertEquals("true", parameters.get(2).getDefaultValue());
+    }
+
+    @Test
+    public void readsATypedDefaultValue() throws CommandHandlerException {
+
+        CommandParameter amount = this.read("give :item [:amount<int>=1]").getParameters().get(1);
+        assertEquals(ParameterType.INT, amount.getType());
+        assertTrue(amount.isOptional());
+        assertEquals("1", amount.getDefaultValue());
+
+        CommandParameter page = this.read("list [:page<int>]").getParameters().get(0);
+        assertTrue(page.isOptional());
+        assertNull(page.getDefaultValue());
+    }
+
+    @Test
+    public void readsTheGreedyParameter() throws CommandHandlerException {
+
+        CommandParameter message = this.read("say :target :message...").getParameters().get(1);
+        assertTrue(message.isGreedy());
+        assertFalse(message.isOptional());
+    }
+
+    @Test
+    public void readsAPatternWithParentheses() throws CommandHandlerException {
+
+        CommandParameter time = this.read("at :time(\\d{1,2}:(?:[0-5]\\d)) :label([)(]+)").getParameters().get(0);
+        assertTrue(time.matches("12:30"));
+        assertFalse(time.matches("12:60"));
+    }
+
+    @Test
+    public void rejectsMalformedCommands() {
+
+        String[] malformed = {
+                ":name",                            // No literal
+                "give :player extra",               // Literal after a parameter
+                "gi@ve :player",                    // Invalid literal
+                "give :",                           // No name
+                "give [:amount<int>",               // Optional not closed
+                "give [amount]",                    // Optional without :
+                "give :amount<int",                 // Type not closed
+                "give :amount<>",                   // Empty type
+                "give :amount<int>=1",              // Default of a required parameter
+                "give [:amount<int>=]",             // Empty default value
+                "give [:amount<int>=abc]",          // Default value rejected by the type
+                "give [:amount(\\d)=x]",            // Default value rejected by the pattern
+                "give :code(\\d",                   // Pattern not closed
+                "give :code((?=a)b)",               // Pattern not supported
+                "say :message... :target",          // Greedy parameter not last
+                "say :message<int>...",             // Typed greedy parameter
+                "say [:message...]",                // Optional greedy parameter
+                "give [:amount<int>] :player",      // Required after an optional
+                "give :amount<org.unknown.Type>"    // Unknown enum
+        };
+
+        for(String command : malformed) {
+            try {
+                this.read(command);
+                fail("The command [" + command + "] must be rejected.");
+            } catch (CommandInvalidFormat e) {
+            } catch (CommandHandlerException e) {
+                if(!command.contains("org.unknown")) {
+                    fail("The command [" + command + "] must be rejected by its format, not by " + e);
+                }
+            }
+        }
+    }
+
+    @Test(expected = ParameterAlreadyExist.class)
+    public void rejectsADuplicatedParameter() throws CommandHandlerException {
+
+        this.read("give :player :player");
+    }
+
+    private CommandReader read(String command) throws CommandHandlerException {
+
+        CommandReader reader = new CommandReader(command);
+        reader.read();
+        return reader;
+    }
+
+}
@@ -0,0 +1,214 @@
+package com.dbout.commandhandler;
+
+import com.dbout.commandhandler.exceptions.CommandHandlerException;
+import org.bukkit.command.CommandSender;
+import org.junit.Test;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * CommandTest
+ * https://github.com/dimitriBouteille/command-handler
+ *
+ * @author  Dimitri BOUTEILLE <bonjour@dimitri-bouteille.fr>
+ * @version 1.0
+ */
+public class CommandTest {
+
+    @Test
+    public void matchesTheParameters() throws CommandHandlerException {
+
+        CommandMatch match = this.command("give :player :amount<int>").match("give bob 5");
+        assertNotNull(match);
+        assertTrue(match.isValid());
+        assertEquals("bob", match.getParameters().getString(0));
+        assertEquals(5, match.getParameters().getInt(1));
+    }
+
+    @Test
+    public void rejectsALongOutsideTheIntRange() throws CommandHandlerException {
+
+        CommandParameters parameters = this.command("pay :amount<long>").match("pay 4294967296").getParameters();
+        assertEquals(4294967296L, parameters.getLong(0));
+        assertNull(parameters.getInt("amount"));
+        try {
+            parameters.getInt(0);
+            fail("The value is outside the int range.");
+        } catch (NumberFormatException e) {}
+
+        assertEquals(-5, this.command("pay :amount<long>").match("pay -5").getParameters().getInt(0));
+    }
+
+    @Test
+    public void usesTheTypedDefaultValue() throws CommandHandlerException {
+
+        Command command = this.command("give :item [:amount<int>=1] [:note]");
+
+        CommandParameters parameters = command.match("give stone").getParameters();
+        assertEquals(1, parameters.getInt(1));
+        assertTrue(parameters.isPresent(1));
+        assertFalse(parameters.isPresent(2));
+
+        assertEquals(64, command.match("give stone 64").getParameters().getInt(1));
+    }
+
+    @Test
+    public void givesATypeErrorForARejectedValue() throws CommandHandlerException {
+
+        CommandMatch match = this.command("give :item [:amount<int>=1]").match("give stone abc");
+        assertNotNull(match);
+        assertFalse(match.isValid());
+        assertEquals("[abc] is invalid, amount must be an int.", match.getError());
+    }
+
+    @Test
+    public void onlyTheLastParameterIsGreedy() throws CommandHandlerException {
+
+        Command command = this.command("msg :target :message...");
+
+        CommandParameters parameters = command.match("msg bob hello  there  !").getParameters();
+        assertEquals("bob", parameters.getString(0));
+        assertEquals("hello  there  !", parameters.getString(1));
+
+        assertEquals("hi", command.match("msg bob hi").getParameters().getString(1));
+        assertNull(command.match("msg bob"));
+    }
+
+    @Test
+    public void fillsTheOptionalParametersFromTheLeft() throws CommandHandlerException {
+
+        Command command = this.command("home [:name] [:world]");
+
+        CommandParameters parameters = command.match("home").getParameters();
+        assertFalse(parameters.isPresent("name"));
+        assertNull(parameters.getString(0));
+        assertNull(parameters.getString("world"));
+
+        parameters = command.match("home base").getParameters();
+        assertEquals("base", parameters.getString(0));
+        assertFalse(parameters.isPresent(1));
+
+        parameters = command.match("home base nether").getParameters();
+        assertEquals("base", parameters.getString(0));
+        assertEquals("nether", parameters.getString(1));
+    }
+
+    @Test
+    public void usesTheDefaultValueOfAnEnum() throws CommandHandlerException {
+
+        Command command = this.command("wait [:unit<java.util.concurrent.TimeUnit>=seconds]");
+        assertEquals(TimeUnit.SECONDS, command.match("wait").getParameters().getEnum(0, TimeUnit.class));
+        assertEquals(TimeUnit.MINUTES, command.match("wait minutes").getParameters().getEnum(0, TimeUnit.class));
+        assertFalse(command.match("wait weeks").isValid());
+    }
+
+    @Test
+    public void checksTheTypesBeforeTheGreedyParameter() throws CommandHandlerException {
+
+        Command command = this.command("broadcast :delay<int> :message...");
+
+        CommandParameters parameters = command.match("broadcast 5 server restart").getParameters();
+        assertEquals(5, parameters.getInt(0));
+        assertEquals("server restart", parameters.getString(1));
+
+        CommandMatch match = command.match("broadcast soon server restart");
+        assertFalse(match.isValid());
+        assertEquals("[soon] is invalid, delay must be an int.", match.getError());
+        assertNull(command.match("broadcast 5"));
+    }
+
+    @Test
+    public void matchesOptionalParametersWithoutBacktracking() throws CommandHandlerException {
+
+        Command command = this.command("fill :block [:x<int>=0] [:y<int>=0] [:z<int>=0]");
+
+        CommandParameters parameters = command.match("fill stone 1 2").getParameters();
+        assertEquals(1, parameters.getInt(1));
+        assertEquals(2, parameters.getInt(2));
+        assertEquals(0, parameters.getInt(3));
+
+        // A rejected value is not moved to the next optional parameter
+        assertFalse(command.match("fill stone 1 two").isValid());
+        assertNull(command.match("fill stone 1 2 3 4"));
+    }
+
+    @Test
+    public void rejectsTheWrongNumberOfArguments() throws CommandHandlerException {
+
+        Command command = this.command("give :item [:amount<int>=1]");
+        assertNull(command.match("give"));
+        assertNull(command.match("give stone 1 2"));
+        assertNull(command.match("take stone"));
+    }
+
+    @Test
+    public void rejectsTooManyArguments() throws CommandHandlerException {
+
+        Command command = this.command("say :message...");
+
+        String[] args = new String[Command.MAX_ARGUMENTS];
+        Arrays.fill(args, "a");
+        assertNotNull(command.match("say", args));
+
+        args = new String[Command.MAX_ARGUMENTS + 1];
+        Arrays.fill(args, "a");
+        assertNull(command.match("say", args));
+    }
+
+    @Test
+    public void rejectsTooLongArguments() throws CommandHandlerException {
+
+        Command command = this.command("say :target :message...");
+
+        char[] token = new char[Command.MAX_ARGUMENT_LENGTH];
+        Arrays.fill(token, 'a');
+        assertNotNull(command.match("say", new String[] { "bob", new String(token) }));
+
+        token = new char[Command.MAX_ARGUMENT_LENGTH + 1];
+        Arrays.fill(token, 'a');
+        assertNull(command.match("say", new String[] { new String(token), "hi" }));
+        assertNull(command.match("say", new String[] { "bob", "hi", new String(token) }));
+    }
+
+    @Test
+    public void rejectsAnAliasOnceRegistered() throws CommandHandlerException {
+
+        TestServer.install();
+        CommandHandler handler = new CommandHandler();
+        Command command = this.command("warp :name");
+        command.addAlias("w");
+        handler.registerCommand(command);
+
+        try {
+            command.addAlias("go");
+            fail("The handler would not index the alias.");
+        } catch (IllegalStateException e) {}
+
+        assertEquals(Arrays.asList("warp", "w"), command.getAllBases());
+    }
+
+    private Command command(String command) throws CommandHandlerException {
+
+        Command instance = new Command() {
+
+            {
+                this.setCommand(command);
+            }
+
+            @Override
+            public void execute(CommandSender sender, CommandParameters parameters) {}
+
+        };
+
+        instance.init();
+        return instance;
+    }
+
+}
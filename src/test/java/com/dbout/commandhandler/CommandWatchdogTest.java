@@ -0,0 +1,149 @@
+package com.dbout.commandhandler;
+
+import com.dbout.commandhandler.exceptions.CommandHandlerException;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * CommandWatchdogTest
+ * https://github.com/dimitriBouteille/command-handler
+ *
+ * @author  Dimitri BOUTEILLE <bonjour@dimitri-bouteille.fr>
+ * @version 1.0
+ */
+public class CommandWatchdogTest {
+
+    /**
+     * Reports logged by the watchdog
+     */
+    private final List<String> reports = Collections.synchronizedList(new ArrayList<>());
+
+    private final Player player = TestServer.player("bob", node -> true, new ArrayList<>());
+
+    private Logger logger;
+
+    private Command command;
+
+    private CommandParameters parameters;
+
+    @Before
+    public void setUp() throws CommandHandlerException {
+
+        this.logger = Logger.getAnonymousLogger();
+        this.logger.setUseParentHandlers(false);
+        this.logger.addHandler(new Handler() {
+
+            @Override
+            public void publish(LogRecord record) { CommandWatchdogTest.this.reports.add(record.getMessage()); }
+
+            @Override
+            public void flush() {}
+
+            @Override
+            public void close() {}
+
+        });
+
+        this.command = new Command() {
+
+            {
+                this.setCommand("give :player :amount<int>");
+            }
+
+            @Override
+            public void execute(CommandSender sender, CommandParameters parameters) {}
+
+        };
+
+        this.command.init();
+        this.parameters = this.command.match("give alice 64").getParameters();
+    }
+
+    @After
+    public void tearDown() { this.reports.clear(); }
+
+    @Test
+    public void ignoresACommandWithinTheBudget() {
+
+        CommandWatchdog watchdog = new CommandWatchdog(this.logger, 1, TimeUnit.SECONDS);
+        try {
+            watchdog.exit(watchdog.enter(this.command, this.player, this.parameters));
+            assertTrue(watchdog.getSlowCommands().isEmpty());
+            assertTrue(this.reports.isEmpty());
+        } finally {
+            watchdog.shutdown();
+        }
+    }
+
+    @Test
+    public void reportsAnOverrunOncePerInterval() throws InterruptedException {
+
+        CommandWatchdog watchdog = new CommandWatchdog(this.logger, 20, TimeUnit.MILLISECONDS);
+        try {
+            for(int i = 0; i < 3; i++) {
+                CommandWatchdog.Execution execution = watchdog.enter(this.command, this.player, this.parameters);
+                Thread.sleep(30);
+                watchdog.exit(execution);
+            }
+
+            CommandWatchdog.SlowCommand slowCommand = watchdog.getSlowCommands().get(0);
+            assertEquals(3, slowCommand.getCount());
+            assertTrue(slowCommand.getMaxDuration() >= TimeUnit.MILLISECONDS.toNanos(30));
+            assertEquals("player", slowCommand.getLastSenderType());
+
+            // The values typed by the player are not reported
+            assertEquals("{player=<word>, amount=<int>}", slowCommand.getLastArguments());
+            assertEquals(1, this.reports.size());
+            assertTrue(this.reports.get(0), this.reports.get(0).startsWith("The command [give] took"));
+            assertFalse(this.reports.get(0).contains("alice"));
+        } finally {
+            watchdog.shutdown();
+        }
+    }
+
+    @Test
+    public void capturesTheStackOfACommandStillRunning() throws InterruptedException {
+
+        CommandWatchdog watchdog = new CommandWatchdog(this.logger, 10, TimeUnit.MILLISECONDS);
+        try {
+            CommandWatchdog.Execution execution = watchdog.enter(this.command, this.player, this.parameters);
+
+            // Logged while the command runs, after CommandWatchdog.SAMPLE_FACTOR budgets
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (this.reports.isEmpty() && System.nanoTime() - deadline < 0) {
+                Thread.sleep(10);
+            }
+
+            assertEquals(1, this.reports.size());
+            assertTrue(this.reports.get(0), this.reports.get(0).startsWith("The command [give] is still running after"));
+            assertTrue(this.reports.get(0).contains("java.lang.Thread.sleep"));
+
+            watchdog.exit(execution);
+            CommandWatchdog.SlowCommand slowCommand = watchdog.getSlowCommands().get(0);
+            assertEquals(1, slowCommand.getCount());
+            assertNotNull(slowCommand.getLastStack());
+            assertTrue(slowCommand.getLastStack().length <= CommandWatchdog.MAX_STACK_DEPTH);
+
+            // Reported recently, the end of the execution is only aggregated
+            assertEquals(1, this.reports.size());
+        } finally {
+            watchdog.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.dbout.commandhandler;
+
+import org.bukkit.entity.Player;
+import org.junit.Test;
+import java.lang.reflect.Proxy;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * PermissionCacheTest
+ * https://github.com/dimitriBouteille/command-handler
+ *
+ * @author  Dimitri BOUTEILLE <bonjour@dimitri-bouteille.fr>
+ * @version 1.0
+ */
+public class PermissionCacheTest {
+
+    private final AtomicBoolean granted = new AtomicBoolean(true);
+
+    private final AtomicInteger checks = new AtomicInteger();
+
+    private final UUID playerId = UUID.randomUUID();
+
+    @Test
+    public void reusesACheckUntilItExpires() throws InterruptedException {
+
+        PermissionCache cache = new PermissionCache(50, TimeUnit.MILLISECONDS);
+        Player player = this.player();
+        assertTrue(cache.hasPermission(player, "test.use"));
+
+        // ie: the player is no longer an operator
+        this.granted.set(false);
+        assertTrue(cache.hasPermission(player, "test.use"));
+        assertEquals(1, this.checks.get());
+
+        Thread.sleep(100);
+        assertFalse(cache.hasPermission(player, "test.use"));
+        assertEquals(2, this.checks.get());
+    }
+
+    @Test
+    public void checksAgainAfterInvalidate() {
+
+        PermissionCache cache = new PermissionCache(1, TimeUnit.HOURS);
+        Player player = this.player();
+        assertTrue(cache.hasPermission(player, "test.use"));
+
+        this.granted.set(false);
+        cache.invalidate(this.playerId);
+        assertFalse(cache.hasPermission(player, "test.use"));
+
+        this.granted.set(true);
+        cache.invalidateAll();
+        assertTrue(cache.hasPermission(player, "test.use"));
+        assertEquals(3, this.checks.get());
+    }
+
+    @Test
+    public void neverReusesACheckWithoutTtl() {
+
+        PermissionCache cache = new PermissionCache(0, TimeUnit.MILLISECONDS);
+        Player player = this.player();
+        cache.hasPermission(player, "test.use");
+        cache.hasPermission(player, "test.use");
+        assertEquals(2, this.checks.get());
+    }
+
+    /**
+     * @return  Returns a player whose permission is read from granted
+     */
+    private Player player() {
+
+        return (Player)Proxy.newProxyInstance(Player.class.getClassLoader(), new Class<?>[] { Player.class }, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getUniqueId":
+                    return this.playerId;
+                case "hasPermission":
+                    this.checks.incrementAndGet();
+                    return this.granted.get();
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                default:
+                    return null;
+            }
+        });
+    }
+
+}
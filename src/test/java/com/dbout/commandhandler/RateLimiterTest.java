@@ -0,0 +1,110 @@
+package com.dbout.commandhandler;
+
+import org.junit.Test;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * RateLimiterTest
+ * https://github.com/dimitriBouteille/command-handler
+ *
+ * @author  Dimitri BOUTEILLE <bonjour@dimitri-bouteille.fr>
+ * @version 1.0
+ */
+public class RateLimiterTest {
+
+    private final UUID bob = UUID.randomUUID();
+
+    private final UUID alice = UUID.randomUUID();
+
+    @Test
+    public void allowsABurstOfPermits() {
+
+        RateLimiter limiter = new RateLimiter(3, 1, TimeUnit.HOURS);
+        assertTrue(limiter.tryAcquire(this.bob));
+        assertTrue(limiter.tryAcquire(this.bob));
+        assertTrue(limiter.tryAcquire(this.bob));
+        assertFalse(limiter.tryAcquire(this.bob));
+
+        // Each sender has its own bucket
+        assertTrue(limiter.tryAcquire(this.alice));
+        assertEquals(2, limiter.size());
+    }
+
+    @Test
+    public void givesAPermitBackAfterTheInterval() throws InterruptedException {
+
+        RateLimiter limiter = new RateLimiter(1, 50, TimeUnit.MILLISECONDS);
+        assertEquals(0, limiter.getWaitMillis(this.bob));
+        assertTrue(limiter.tryAcquire(this.bob));
+        assertFalse(limiter.tryAcquire(this.bob));
+
+        long wait = limiter.getWaitMillis(this.bob);
+        assertTrue(wait > 0 && wait <= 51);
+
+        Thread.sleep(wait + 10);
+        assertEquals(0, limiter.getWaitMillis(this.bob));
+        assertTrue(limiter.tryAcquire(this.bob));
+    }
+
+    @Test
+    public void neverGivesMorePermitsUnderContention() throws InterruptedException {
+
+        RateLimiter limiter = new RateLimiter(100, 1, TimeUnit.HOURS);
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[8];
+        for(int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+
+                for(int j = 0; j < 1000; j++) {
+                    if(limiter.tryAcquire(this.bob)) {
+                        granted.incrementAndGet();
+                    }
+                }
+            });
+            threads[i].start();
+        }
+
+        start.countDown();
+        for(Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(100, granted.get());
+    }
+
+    @Test
+    public void removesTheIdleBuckets() throws InterruptedException {
+
+        RateLimiter limiter = new RateLimiter(1, 1, TimeUnit.MILLISECONDS);
+        for(int i = 0; i < 100; i++) {
+            limiter.tryAcquire(UUID.randomUUID());
+        }
+
+        assertEquals(100, limiter.size());
+        Thread.sleep(10);
+
+        // The sweep runs every 1024 acquisitions
+        for(int i = 0; i < 1024; i++) {
+            limiter.tryAcquire(this.bob);
+        }
+
+        assertTrue(limiter.size() <= 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsAnEmptyRate() { new RateLimiter(0, 1, TimeUnit.SECONDS); }
+
+}
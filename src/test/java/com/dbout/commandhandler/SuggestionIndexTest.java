@@ -0,0 +1,123 @@
+package com.dbout.commandhandler;
+
+import com.dbout.commandhandler.exceptions.CommandHandlerException;
+import org.bukkit.command.CommandSender;
+import org.bukkit.permissions.Permission;
+import org.junit.Before;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * SuggestionIndexTest
+ * https://github.com/dimitriBouteille/command-handler
+ *
+ * @author  Dimitri BOUTEILLE <bonjour@dimitri-bouteille.fr>
+ * @version 1.0
+ */
+public class SuggestionIndexTest {
+
+    private final CommandSender sender = TestServer.sender(new ArrayList<>());
+
+    private CommandHandler handler;
+
+    @Before
+    public void setUp() throws CommandHandlerException {
+
+        TestServer.install();
+        this.handler = new CommandHandler();
+
+        // One by one, each registration inserts in the tree of the previous ones
+        this.handler.registerCommand(this.command("warp :name", null, "w"));
+        this.handler.registerCommand(this.command("home [:name]", null));
+        this.handler.registerCommand(this.command("homes", null));
+        this.handler.registerCommand(this.command("guild create :name", null));
+        this.handler.registerCommand(this.command("ban :player", "test.ban"));
+    }
+
+    @Test
+    public void suggestsTheNearestCommandsFirst() {
+
+        assertEquals(Arrays.asList("warp :name"), this.suggest("wrap spawn", 5));
+        assertEquals(Arrays.asList("home [:name]", "homes"), this.suggest("homse", 5));
+        assertEquals(Arrays.asList("home [:name]"), this.suggest("homse", 1));
+        assertEquals(Collections.emptyList(), this.suggest("teleport", 5));
+    }
+
+    @Test
+    public void toleratesOneEditInAShortLabel() {
+
+        // homes is 2 edits of hme
+        assertEquals(Arrays.asList("home [:name]"), this.suggest("hme", 5));
+        assertEquals(Arrays.asList("warp :name"), this.suggest("x", 5));
+    }
+
+    @Test
+    public void comparesTheLiteralTokensAfterTheLabel() {
+
+        assertEquals(Arrays.asList("guild create :name"), this.suggest("guild craete dragons", 5));
+        assertEquals(Arrays.asList("guild create :name"), this.suggest("gulid create dragons", 5));
+    }
+
+    @Test
+    public void suggestsTheCommandWhoseLiteralPartIsTyped() {
+
+        // The literal part is right, the arguments are wrong
+        assertEquals(Arrays.asList("warp :name"), this.suggest("warp", 5));
+        assertEquals(Arrays.asList("guild create :name"), this.suggest("guild create", 5));
+    }
+
+    @Test
+    public void onlySuggestsTheCommandsThatTheSenderCanUse() {
+
+        List<String> suggestions = new ArrayList<>();
+        for(Command command : this.handler.suggestionIndex.suggest(TestServer.player("bob", node -> false, new ArrayList<>()), "bam", new String[0], 5)) {
+            suggestions.add(command.getCommand());
+        }
+
+        assertEquals(Collections.emptyList(), suggestions);
+        assertEquals(Arrays.asList("ban :player"), this.suggest("bam", 5));
+    }
+
+    @Test
+    public void ignoresATooLongLabel() {
+
+        char[] label = new char[SuggestionIndex.MAX_QUERY_LENGTH + 1];
+        Arrays.fill(label, 'w');
+        assertEquals(Collections.emptyList(), this.suggest(new String(label), 5));
+    }
+
+    private List<String> suggest(String line, int limit) {
+
+        String[] tokens = line.split(" ");
+        List<String> suggestions = new ArrayList<>();
+        for(Command command : this.handler.suggestionIndex.suggest(this.sender, tokens[0], Arrays.copyOfRange(tokens, 1, tokens.length), limit)) {
+            suggestions.add(command.getCommand());
+        }
+
+        return suggestions;
+    }
+
+    private Command command(String command, String permission, String... aliases) {
+
+        return new Command() {
+
+            {
+                this.setCommand(command);
+                this.addAlias(aliases);
+                if(permission != null) {
+                    this.setPermission(new Permission(permission));
+                }
+            }
+
+            @Override
+            public void execute(CommandSender sender, CommandParameters parameters) {}
+
+        };
+    }
+
+}
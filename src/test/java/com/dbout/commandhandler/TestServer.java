@@ -0,0 +1,218 @@
+package com.dbout.commandhandler;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.World;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.ConsoleCommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.PluginManager;
+import org.bukkit.scheduler.BukkitScheduler;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+/**
+ * TestServer
+ * Server installed once for the tests that create a CommandHandler, the handler reads the console sender from Bukkit
+ * https://github.com/dimitriBouteille/command-handler
+ *
+ * @author  Dimitri BOUTEILLE <bonjour@dimitri-bouteille.fr>
+ * @version 1.0
+ */
+final class TestServer {
+
+    /**
+     * Online players
+     */
+    static final List<Player> players = new CopyOnWriteArrayList<>();
+
+    /**
+     * Loaded worlds
+     */
+    static final List<World> worlds = new CopyOnWriteArrayList<>();
+
+    private TestServer() {}
+
+    /**
+     * Set the server of Bukkit, only once
+     */
+    static synchronized void install() {
+
+        if(Bukkit.getServer() != null) {
+            return;
+        }
+
+        ConsoleCommandSender console = TestServer.proxy(ConsoleCommandSender.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getName":
+                    return "CONSOLE";
+                case "hasPermission":
+                case "isOp":
+                    return true;
+                default:
+                    return TestServer.defaultValue(proxy, method.getName(), method.getReturnType(), args);
+            }
+        });
+
+        PluginManager pluginManager = TestServer.proxy(PluginManager.class, (proxy, method, args) ->
+                TestServer.defaultValue(proxy, method.getName(), method.getReturnType(), args));
+        BukkitScheduler scheduler = TestServer.proxy(BukkitScheduler.class, (proxy, method, args) ->
+                TestServer.defaultValue(proxy, method.getName(), method.getReturnType(), args));
+
+        Bukkit.setServer(TestServer.proxy(Server.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getLogger":
+                    return Logger.getLogger("TestServer");
+                case "getName":
+                case "getVersion":
+                case "getBukkitVersion":
+                    return "test";
+                case "getConsoleSender":
+                    return console;
+                case "getPluginManager":
+                    return pluginManager;
+                case "getScheduler":
+                    return scheduler;
+                case "isPrimaryThread":
+                    return true;
+                case "getOnlinePlayers":
+                    return players;
+                case "getWorlds":
+                    return worlds;
+                case "getPlayer":
+                case "getPlayerExact":
+                    if(args[0] instanceof UUID) {
+                        return players.stream().filter(p -> p.getUniqueId().equals(args[0])).findFirst().orElse(null);
+                    }
+
+                    return players.stream().filter(p -> p.getName().equalsIgnoreCase((String)args[0])).findFirst().orElse(null);
+                case "getWorld":
+                    return worlds.stream().filter(w -> w.getName().equals(args[0])).findFirst().orElse(null);
+                default:
+                    return TestServer.defaultValue(proxy, method.getName(), method.getReturnType(), args);
+            }
+        }));
+    }
+
+    /**
+     * @param name          Player name
+     * @param permissions   Permission nodes granted to the player
+     * @param messages      Receives the messages sent to the player
+     * @return              Returns a player, not online until added to players
+     */
+    static Player player(String name, Predicate<String> permissions, List<String> messages) {
+
+        UUID playerId = UUID.nameUUIDFromBytes(name.getBytes());
+        return TestServer.proxy(Player.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getName":
+                case "getDisplayName":
+                    return name;
+                case "getUniqueId":
+                    return playerId;
+                case "hasPermission":
+                    return permissions.test(args[0] instanceof String ? (String)args[0] : ((org.bukkit.permissions.Permission)args[0]).getName());
+                case "isOnline":
+                    return true;
+                case "sendMessage":
+                    TestServer.send(messages, args[0]);
+                    return null;
+                default:
+                    return TestServer.defaultValue(proxy, method.getName(), method.getReturnType(), args);
+            }
+        });
+    }
+
+    /**
+     * @param messages  Receives the messages sent to the sender
+     * @return          Returns a sender that is not a player and has all permissions
+     */
+    static CommandSender sender(List<String> messages) {
+
+        return TestServer.proxy(CommandSender.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getName":
+                    return "sender";
+                case "hasPermission":
+                case "isOp":
+                    return true;
+                case "sendMessage":
+                    TestServer.send(messages, args[0]);
+                    return null;
+                default:
+                    return TestServer.defaultValue(proxy, method.getName(), method.getReturnType(), args);
+            }
+        });
+    }
+
+    /**
+     * @param name  Label typed by the sender
+     * @return      Returns the Bukkit command passed to CommandHandler.runCommand()
+     */
+    static org.bukkit.command.Command label(String name) {
+
+        return new org.bukkit.command.Command(name) {
+
+            @Override
+            public boolean execute(CommandSender sender, String label, String[] args) { return true; }
+
+        };
+    }
+
+    private static void send(List<String> messages, Object message) {
+
+        if(message instanceof String[]) {
+            for(String line : (String[])message) {
+                messages.add(line);
+            }
+        } else {
+            messages.add((String)message);
+        }
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+
+        return type.cast(Proxy.newProxyInstance(TestServer.class.getClassLoader(), new Class<?>[] { type }, handler));
+    }
+
+    /**
+     * @return  Returns the identity for equals(), hashCode() and toString(), else null or 0
+     */
+    private static Object defaultValue(Object proxy, String name, Class<?> type, Object[] args) {
+
+        switch (name) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "TestServer proxy";
+        }
+
+        if(type == boolean.class) {
+            return false;
+        } else if(type == void.class || !type.isPrimitive()) {
+            return null;
+        } else if(type == char.class) {
+            return '\0';
+        } else if(type == long.class) {
+            return 0L;
+        } else if(type == float.class) {
+            return 0f;
+        } else if(type == double.class) {
+            return 0d;
+        } else if(type == byte.class) {
+            return (byte)0;
+        } else if(type == short.class) {
+            return (short)0;
+        }
+
+        return 0;
+    }
+
+}
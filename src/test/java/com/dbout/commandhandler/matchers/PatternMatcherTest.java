@@ -0,0 +1,175 @@
+package com.dbout.commandhandler.matchers;
+
+import org.junit.Test;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * PatternMatcherTest
+ * The supported subset must give the same result as java.util.regex on the whole token
+ * https://github.com/dimitriBouteille/command-handler
+ *
+ * @author  Dimitri BOUTEILLE <bonjour@dimitri-bouteille.fr>
+ * @version 1.0
+ */
+public class PatternMatcherTest {
+
+    private static final String[] PATTERNS = {
+            "abc", "a.c", "[a-z]{3}", "[^0-9]+", "\\d{2}", "\\d{2,4}", "\\d{2,}", "\\w+", "\\s?x", "\\D\\W\\S",
+            "a|b|cd", "(ab)+", "(?:ab|c){2,3}", "a*b*", "a?b?c?", "(a|b)*abb", "[\\d_]+", "[a\\-z]+", "[]a]+", "[^]a]",
+            "x{0}", "x{0,1}y", "(a*)*", "a*?b", "\\.\\*", "[.]", "(|a)b", "h:mm", "[A-Z][a-z]*(-[A-Z][a-z]*)?", "a{100}"
+    };
+
+    private static final String[] TOKENS = {
+            "", "a", "b", "c", "ab", "abc", "abd", "aXc", "a.c", "xyz", "xy", "xyzw", "12", "123", "1234", "12345", "1a",
+            "abab", "ababab", "abcab", "cc", "ccc", "abcabc", "aaabbb", "ba", "aabb", "babb", "abb", "_9_", "a-z", "a",
+            "]", "]a]", "x", "y", "xy", ".*", ".", "h:mm", "Jean-Paul", "Jean", "jean", "Jean-", " x", "\tx", "a\n", "é",
+            repeat('a', 100), repeat('a', 99), "b", "cd", "ab ", "aab"
+    };
+
+    @Test
+    public void matchesLikeJavaRegex() {
+
+        for(String pattern : PATTERNS) {
+            PatternMatcher matcher = new PatternMatcher(pattern);
+            Pattern expected = Pattern.compile(pattern);
+            for(String token : TOKENS) {
+                assertEquals(pattern + " on [" + token + "]", expected.matcher(token).matches(), matcher.matches(token));
+            }
+        }
+    }
+
+    @Test
+    public void matchesLikeJavaRegexOnGeneratedPatterns() {
+
+        // Fixed seed, the interleaved matchers of different sizes also share the work arrays of the thread
+        Random random = new Random(42);
+        for(int i = 0; i < 500; i++) {
+
+            String pattern = generate(random, 3);
+            PatternMatcher matcher = new PatternMatcher(pattern);
+            Pattern expected = Pattern.compile(pattern);
+            for(int j = 0; j < 30; j++) {
+                String token = randomToken(random);
+                assertEquals(pattern + " on [" + token + "]", expected.matcher(token).matches(), matcher.matches(token));
+            }
+        }
+    }
+
+    @Test
+    public void rejectsUnsupportedConstructs() {
+
+        String[] unsupported = {
+                "(a)\\1", "\\k<n>", "(?=a)b", "(?!a)b", "(?<=a)b", "(?<!a)b", "(?<n>a)", "(?i)a",
+                "a*+", "a++", "a?+", "^a", "a$", "\\b", "\\p{L}", "\\Q", "[a-z&&[^b]]"
+        };
+
+        for(String pattern : unsupported) {
+            assertRejected(pattern);
+        }
+    }
+
+    @Test
+    public void rejectsInvalidPatterns() {
+
+        String[] invalid = { "(a", "a)", "[a", "*a", "a{2,1}", "a{,3}", "a{101}", "(a{100}){100}" };
+        for(String pattern : invalid) {
+            assertRejected(pattern);
+        }
+    }
+
+    @Test
+    public void limitsTheRepetitions() {
+
+        assertTrue(new PatternMatcher("a{" + PatternMatcher.MAX_REPEAT + "}").matches(repeat('a', PatternMatcher.MAX_REPEAT)));
+        assertRejected("a{" + (PatternMatcher.MAX_REPEAT + 1) + "}");
+    }
+
+    @Test(timeout = 2000)
+    public void runsInLinearTimeOnPathologicalPatterns() {
+
+        // Exponential for a backtracking engine
+        String token = repeat('a', 10000);
+        assertFalse(new PatternMatcher("(a|a)*b").matches(token));
+        assertFalse(new PatternMatcher("(a*)*b").matches(token));
+        assertFalse(new PatternMatcher("(a|aa)+b").matches(token));
+        assertTrue(new PatternMatcher("(a|a)*").matches(token));
+    }
+
+    private static void assertRejected(String pattern) {
+
+        try {
+            new PatternMatcher(pattern);
+            fail("The pattern [" + pattern + "] must be rejected.");
+        } catch (IllegalArgumentException e) {}
+    }
+
+    /**
+     * @param random    Random
+     * @param depth     Maximum nesting
+     * @return          Returns a pattern of the supported subset
+     */
+    private static String generate(Random random, int depth) {
+
+        StringBuilder pattern = new StringBuilder();
+        int terms = 1 + random.nextInt(3);
+        for(int i = 0; i < terms; i++) {
+
+            switch (random.nextInt(depth > 0 ? 6 : 4)) {
+                case 0:
+                    pattern.append((char)('a' + random.nextInt(3)));
+                    break;
+                case 1:
+                    pattern.append(random.nextBoolean() ? "[ab]" : "[^a]");
+                    break;
+                case 2:
+                    pattern.append(random.nextBoolean() ? "." : "\\d");
+                    break;
+                case 3:
+                    pattern.append('b');
+                    break;
+                case 4:
+                    pattern.append('(').append(generate(random, depth - 1)).append('|').append(generate(random, depth - 1)).append(')');
+                    break;
+                default:
+                    pattern.append("(?:").append(generate(random, depth - 1)).append(')');
+            }
+
+            String[] quantifiers = { "", "", "*", "+", "?", "{2}", "{1,3}", "{0,}", "*?" };
+            pattern.append(quantifiers[random.nextInt(quantifiers.length)]);
+        }
+
+        return pattern.toString();
+    }
+
+    /**
+     * @param random    Random
+     * @return          Returns a token of a, b, c and 1
+     */
+    private static String randomToken(Random random) {
+
+        StringBuilder token = new StringBuilder();
+        int length = random.nextInt(8);
+        for(int i = 0; i < length; i++) {
+            token.append("abc1".charAt(random.nextInt(4)));
+        }
+
+        return token.toString();
+    }
+
+    private static String repeat(char c, int count) {
+
+        StringBuilder builder = new StringBuilder();
+        for(int i = 0; i < count; i++) {
+            builder.append(c);
+        }
+
+        return builder.toString();
+    }
+
+}